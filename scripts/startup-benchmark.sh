@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+# Measures time-to-first-successful-request of the application started as
+#   1) plain fat jar (java -jar target/*.jar)
+#   2) extracted layers + AppCDS archive + Spring AOT (same launch as the Docker image)
+# Each variant is started RUNS times; the script polls URL until it returns 2xx and prints the median and min/max.
+#
+# Prerequisites: jar built by "./mvnw clean package -DskipTests -Pstartup" and a running PostgreSQL (see dockerCommands.txt,
+# connection is taken from DB_URL / DB_USERNAME / DB_PWD like in application.properties).
+#
+# Usage: scripts/startup-benchmark.sh [RUNS]
+# Optional env: URL (default http://localhost:8080/api/v1/reporting/eligibility/stats), TIMEOUT_S (default 120)
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${SERVER_PORT:-8080}"
+URL="${URL:-http://localhost:${PORT}/api/v1/reporting/eligibility/stats}"
+TIMEOUT_S="${TIMEOUT_S:-120}"
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT_DIR"/target/*.jar | grep -v -- '-plain.jar' | head -n 1)"
+WORK_DIR="$(mktemp -d)"
+APP_PID=""
+
+cleanup() {
+    if [[ -n "$APP_PID" ]]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+    fi
+    rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+# prints milliseconds from the launch until the first 2xx response of URL
+time_to_first_request() {
+    local start elapsed
+    start="$(now_ms)"
+    "$@" > "$WORK_DIR/app.log" 2>&1 &
+    APP_PID=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "application exited before serving a request, see log:" >&2
+            tail -n 50 "$WORK_DIR/app.log" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_S * 1000 )); then
+            echo "no successful response from $URL within ${TIMEOUT_S}s" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+    echo "$elapsed"
+}
+
+# runs the variant RUNS times and prints median/min/max
+benchmark() {
+    local name="$1"
+    shift
+    local times=()
+    for ((i = 1; i <= RUNS; i++)); do
+        times+=("$(time_to_first_request "$@")")
+    done
+    local sorted
+    sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+    printf '%-32s median %6d ms   min %6d ms   max %6d ms   (%s runs)\n' \
+        "$name" "${sorted[$((RUNS / 2))]}" "${sorted[0]}" "${sorted[$((RUNS - 1))]}" "$RUNS"
+}
+
+echo "Preparing extracted layers and AppCDS archive from $JAR"
+java -Djarmode=tools -jar "$JAR" extract --layers --destination "$WORK_DIR/layers" > /dev/null
+mkdir -p "$WORK_DIR/app"
+for layer in dependencies spring-boot-loader snapshot-dependencies application; do
+    if [[ -d "$WORK_DIR/layers/$layer" ]]; then
+        cp -R "$WORK_DIR/layers/$layer/." "$WORK_DIR/app/"
+    fi
+done
+# training run as in the Dockerfile (with Spring AOT, in-memory H2 instead of PostgreSQL)
+(cd "$WORK_DIR/app" && java -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.datasource.url=jdbc:h2:mem:training \
+    -Dspring.datasource.driverClassName=org.h2.Driver \
+    -Dspring.datasource.username=sa \
+    -Dspring.datasource.password= \
+    -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+    -jar application.jar > "$WORK_DIR/training.log" 2>&1)
+
+echo "Measuring time to first successful GET $URL"
+benchmark "fat jar" java -jar "$JAR"
+benchmark "extracted + AppCDS" java -XX:SharedArchiveFile="$WORK_DIR/app/application.jsa" \
+    -jar "$WORK_DIR/app/application.jar"
+benchmark "extracted + AppCDS + Spring AOT" java -XX:SharedArchiveFile="$WORK_DIR/app/application.jsa" \
+    -Dspring.aot.enabled=true -jar "$WORK_DIR/app/application.jar"
@@ -0,0 +1,22 @@
+package cz.csas.eligibility.config;
+
+import cz.csas.eligibility.utils.DateUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+
+/**
+ * Applies the time zone whose current date decides adulthood of clients (DateUtils.isAdult).
+ */
+@Configuration
+public class AdulthoodZoneConfig {
+
+    public AdulthoodZoneConfig(
+            //zone is defined in application.properties; system default zone is used if empty
+            @Value("${eligibility.adulthood.zone:}") String zone) {
+        if (!zone.isBlank()) {
+            DateUtils.setAdulthoodZone(ZoneId.of(zone));
+        }
+    }
+}
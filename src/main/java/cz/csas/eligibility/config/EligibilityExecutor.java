@@ -0,0 +1,57 @@
+package cz.csas.eligibility.config;
+
+import cz.csas.eligibility.config.auditlogs.AuditContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated pool evaluating eligibility requests (downstream calls and result write) outside of the Tomcat workers,
+ * which are released as soon as the request is handed over. Tasks see the audit context of their request.
+ * When all threads are busy and the queue is full, the request is rejected (TaskRejectedException, 503).
+ * Not exposed as an Executor bean, so it does not replace the auto-configured application task executor.
+ */
+@Component
+public class EligibilityExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public EligibilityExecutor(
+            //pool size and queue are defined in application.properties
+            @Value("${eligibility.executor.core-size:50}") int coreSize,
+            @Value("${eligibility.executor.max-size:200}") int maxSize,
+            @Value("${eligibility.executor.queue-capacity:0}") int queueCapacity) {
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("eligibility-");
+        executor.setTaskDecorator(AuditContext::wrap);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    /**
+     * @return future completed with the value of the supplier run on the pool
+     * @throws org.springframework.core.task.TaskRejectedException if the pool is saturated
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    /**
+     * @return number of tasks being run
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
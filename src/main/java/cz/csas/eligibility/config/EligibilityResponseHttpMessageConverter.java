@@ -0,0 +1,98 @@
+package cz.csas.eligibility.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.model.GetEligibilityResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes GetEligibilityResponse bodies as JSON bytes serialized once at startup.
+ * The response can only take four shapes (eligible, NO_ACCOUNT, NO_ADULT, both reasons), so Jackson serialization
+ * per request is skipped; any other shape is still serialized by the ObjectMapper.
+ * Spring Boot registers HttpMessageConverter beans in front of the default MVC converters.
+ */
+@Component
+public class EligibilityResponseHttpMessageConverter implements HttpMessageConverter<GetEligibilityResponse> {
+
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    private final ObjectMapper objectMapper;
+    private final Map<GetEligibilityResponse, byte[]> bodies;
+
+    public EligibilityResponseHttpMessageConverter(ObjectMapper objectMapper) throws JsonProcessingException {
+        this.objectMapper = objectMapper;
+        Map<GetEligibilityResponse, byte[]> serialized = new HashMap<>();
+        for (GetEligibilityResponse outcome : outcomes()) {
+            serialized.put(outcome, objectMapper.writeValueAsBytes(outcome));
+        }
+        this.bodies = Map.copyOf(serialized);
+    }
+
+    /**
+     * @return all responses built by EligibilityService (reasons in the order they are added there)
+     */
+    static List<GetEligibilityResponse> outcomes() {
+        return List.of(
+                new GetEligibilityResponse().eligible(true),
+                new GetEligibilityResponse().eligible(false)
+                        .addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT),
+                new GetEligibilityResponse().eligible(false)
+                        .addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ADULT),
+                new GetEligibilityResponse().eligible(false)
+                        .addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT)
+                        .addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ADULT));
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        // request bodies of this type are not expected - reading is left to the Jackson converter
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+        return GetEligibilityResponse.class == clazz && (mediaType == null || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType));
+    }
+
+    @Override
+    @NonNull
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    @NonNull
+    public GetEligibilityResponse read(@NonNull Class<? extends GetEligibilityResponse> clazz,
+                                       @NonNull HttpInputMessage inputMessage) throws IOException {
+        return objectMapper.readValue(inputMessage.getBody(), clazz);
+    }
+
+    @Override
+    public void write(@NonNull GetEligibilityResponse response, MediaType contentType,
+                      @NonNull HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = bodies.get(response);
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(response);
+        }
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (headers.getContentType() == null) {
+            headers.setContentType(contentType == null || !contentType.isConcrete() ? MediaType.APPLICATION_JSON : contentType);
+        }
+        if (headers.getContentLength() < 0) {
+            headers.setContentLength(body.length);
+        }
+        outputMessage.getBody().write(body);
+        outputMessage.getBody().flush();
+    }
+}
@@ -0,0 +1,50 @@
+package cz.csas.eligibility.config;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Downstream APIs called through the generated ApiClients, recognized by the host of the request.
+ */
+public enum ExternalApi {
+
+    ACCOUNTS("AccountsServer", "accounts.cluster.domain.cz"),
+
+    CLIENTS("ClientsServer", "clients.cluster.domain.cz");
+
+    private final String apiName;
+    private final String host;
+
+    ExternalApi(String apiName, String host) {
+        this.apiName = apiName;
+        this.host = host;
+    }
+
+    /**
+     * @return name of the API in audit logs
+     */
+    public String getApiName() {
+        return apiName;
+    }
+
+    /**
+     * @return name of the API in properties (external.{name}.*)
+     */
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return API served by the host, empty for unknown hosts
+     */
+    public static Optional<ExternalApi> ofHost(String host) {
+        if (host != null) {
+            for (ExternalApi api : values()) {
+                if (host.contains(api.host)) {
+                    return Optional.of(api);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -3,31 +3,81 @@ package cz.csas.eligibility.config;
 import cz.csas.eligibility.api_accounts.api.AccountsServerApi;
 import cz.csas.eligibility.api_clients.api.ClientsServerApi;
 import cz.csas.eligibility.config.auditlogs.ExternalApiAuditInterceptor;
+import cz.csas.eligibility.config.warmup.WarmupStubInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.util.EnumSet;
+import java.util.Set;
+
 @Configuration
 @RequiredArgsConstructor
 public class ExternalApiConfig {
 
+    static final String PROPERTIES_PREFIX = "external.";
+
     private final ExternalApiAuditInterceptor externalApiAuditInterceptor;
+    private final WarmupStubInterceptor warmupStubInterceptor;
 
+    /**
+     * Transport of the downstream calls, also used directly (without the interceptors) to open connections on warm-up.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
+    public ClientHttpRequestFactory externalApiRequestFactory(
+            //HTTP version of downstream calls is defined in application.properties
+            @Value("${external.http.version:HTTP_1_1}") HttpClient.Version httpVersion) {
+        if (httpVersion == HttpClient.Version.HTTP_2) {
+            // calls to one host are multiplexed over a shared connection (h2 negotiated by ALPN, h2c by upgrade);
+            // servers without HTTP/2 are called over HTTP/1.1 by the same client
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .build();
+            return new JdkClientHttpRequestFactory(httpClient);
+        }
+        return new SimpleClientHttpRequestFactory();
+    }
 
-        // Buffering factory allows to read response body multiple times
-        restTemplate.setRequestFactory(
-                new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory())
-        );
+    @Bean
+    public RestTemplate restTemplate(
+            ClientHttpRequestFactory externalApiRequestFactory,
+            //HTTP version of downstream calls and HTTP/2 stream limit are defined in application.properties
+            @Value("${external.http.version:HTTP_1_1}") HttpClient.Version httpVersion,
+            @Value("${external.http.max-concurrent-streams:100}") int maxConcurrentStreams,
+            @Value("${external.http.stream-acquire-timeout-ms:1000}") long streamAcquireTimeoutMs,
+            //gzip compressed responses of each downstream API are enabled in application.properties (external.{name}.gzip)
+            Environment environment) {
+        // No buffering factory - the audit interceptor captures the response body while it is streamed to the message converters
+        RestTemplate restTemplate = new RestTemplate(externalApiRequestFactory);
 
+        // first - calls of synthetic warm-up evaluations are answered by stubs, neither sent nor audited
+        restTemplate.getInterceptors().add(warmupStubInterceptor);
         // Add interceptor
         restTemplate.getInterceptors().add(externalApiAuditInterceptor);
+        Binder binder = Binder.get(environment);
+        Set<ExternalApi> gzipApis = EnumSet.noneOf(ExternalApi.class);
+        for (ExternalApi api : ExternalApi.values()) {
+            if (binder.bind(PROPERTIES_PREFIX + api.propertyName() + ".gzip", Boolean.class).orElse(false)) {
+                gzipApis.add(api);
+            }
+        }
+        if (!gzipApis.isEmpty()) {
+            // inside the audit interceptor, which captures the decompressed body and reads the compressed size
+            restTemplate.getInterceptors().add(new GzipResponseInterceptor(gzipApis));
+        }
+        if (httpVersion == HttpClient.Version.HTTP_2) {
+            // after the audit interceptor, so that waiting for a free stream is part of the audited duration
+            restTemplate.getInterceptors().add(new StreamLimitInterceptor(maxConcurrentStreams, streamAcquireTimeoutMs));
+        }
 
         return restTemplate;
     }
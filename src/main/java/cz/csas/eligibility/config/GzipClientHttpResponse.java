@@ -0,0 +1,112 @@
+package cz.csas.eligibility.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gzip compressed downstream response whose body is inflated while it is read (only the inflater window and one read
+ * buffer are held, never the whole body). Headers are returned without Content-Encoding and Content-Length, which
+ * describe the compressed body. Compressed bytes read from the connection are counted for the audit log.
+ */
+public class GzipClientHttpResponse implements ClientHttpResponse {
+
+    private static final int INFLATE_BUFFER_SIZE = 8 * 1024;
+
+    private final ClientHttpResponse delegate;
+    private final HttpHeaders headers;
+    private CountingInputStream compressedBody;
+    private InputStream body;
+
+    GzipClientHttpResponse(ClientHttpResponse delegate) {
+        this.delegate = delegate;
+        HttpHeaders decompressedHeaders = new HttpHeaders();
+        decompressedHeaders.putAll(delegate.getHeaders());
+        decompressedHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+        decompressedHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(decompressedHeaders);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            compressedBody = new CountingInputStream(delegate.getBody());
+            // empty body (e.g. 204 or HEAD) has no gzip header
+            PushbackInputStream pushback = new PushbackInputStream(compressedBody, 1);
+            int first = pushback.read();
+            if (first < 0) {
+                body = InputStream.nullInputStream();
+            } else {
+                pushback.unread(first);
+                body = new GZIPInputStream(pushback, INFLATE_BUFFER_SIZE);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * @return compressed bytes read from the connection so far
+     */
+    public long getCompressedBytes() {
+        return compressedBody == null ? 0 : compressedBody.count;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package cz.csas.eligibility.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Asks the enabled downstream APIs for gzip compressed responses (Accept-Encoding: gzip) and decompresses them while
+ * they are read (see GzipClientHttpResponse), so the message converters parse the uncompressed stream directly.
+ * Responses without Content-Encoding: gzip are passed through unchanged.
+ */
+public class GzipResponseInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    private final Set<ExternalApi> enabledApis;
+
+    public GzipResponseInterceptor(Set<ExternalApi> enabledApis) {
+        this.enabledApis = Set.copyOf(enabledApis);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        boolean enabled = ExternalApi.ofHost(request.getURI().getHost())
+                .map(enabledApis::contains)
+                .orElse(false);
+        if (!enabled) {
+            return execution.execute(request, body);
+        }
+
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && GZIP.equalsIgnoreCase(contentEncoding.trim())) {
+            return new GzipClientHttpResponse(response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,12 @@
+package cz.csas.eligibility.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. flushing of batched audit logs).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,112 @@
+package cz.csas.eligibility.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits concurrent calls (HTTP/2 streams) per downstream host. The JDK HttpClient multiplexes all calls to a host over
+ * one connection, so this limit keeps the calls of one instance within the stream limit of the server
+ * (SETTINGS_MAX_CONCURRENT_STREAMS). A call is counted from sending the request until its response is closed;
+ * a call waiting longer than acquireTimeoutMs for a free stream fails like a connect timeout.
+ */
+public class StreamLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int maxConcurrentStreams;
+    private final long acquireTimeoutMs;
+    private final ConcurrentHashMap<String, Semaphore> streamsByHost = new ConcurrentHashMap<>();
+
+    public StreamLimitInterceptor(int maxConcurrentStreams, long acquireTimeoutMs) {
+        if (maxConcurrentStreams < 1) {
+            throw new IllegalArgumentException("maxConcurrentStreams must be positive");
+        }
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        URI uri = request.getURI();
+        String host = uri.getHost() + ":" + uri.getPort();
+        Semaphore streams = streamsByHost.computeIfAbsent(host, key -> new Semaphore(maxConcurrentStreams));
+
+        try {
+            if (!streams.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No free HTTP stream to " + host + " within " + acquireTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for HTTP stream to " + host);
+        }
+
+        try {
+            return new StreamReleasingResponse(execution.execute(request, body), streams);
+        } catch (IOException | RuntimeException e) {
+            streams.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return calls currently in flight to the host (host:port, port -1 if not given in the url)
+     */
+    int inFlight(String host) {
+        Semaphore streams = streamsByHost.get(host);
+        return streams == null ? 0 : maxConcurrentStreams - streams.availablePermits();
+    }
+
+    private static final class StreamReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private Semaphore streams;
+
+        private StreamReleasingResponse(ClientHttpResponse delegate, Semaphore streams) {
+            this.delegate = delegate;
+            this.streams = streams;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                // closed once by RestTemplate; released at most once in any case
+                if (streams != null) {
+                    streams.release();
+                    streams = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Request scoped audit details collected while the request is processed (by exception handler, services, interceptors)
+ * and read by RestApiAuditFilter when the audit log is created, so the filter does not need to parse the response body.
+ * The context is stored as a request attribute created by the filter; outside of an audited request it is absent.
+ * Work done for the request on another thread (async processing) sees the context through wrap().
+ */
+@Getter
+@Setter
+public class AuditContext {
+
+    static final String ATTRIBUTE = AuditContext.class.getName();
+
+    // context of the request processed asynchronously by the current thread (see wrap())
+    private static final ThreadLocal<AuditContext> BOUND = new ThreadLocal<>();
+
+    private String errorMessage;
+    private String exceptionName;
+    private String eligibilityResult;
+    // total duration of calls to downstream APIs by api name
+    private final Map<String, Long> downstreamTimingsMs = new LinkedHashMap<>(4);
+
+    /**
+     * Adds duration of one downstream API call.
+     */
+    public void addDownstreamTiming(String apiName, long durationMs) {
+        downstreamTimingsMs.merge(apiName, durationMs, Long::sum);
+    }
+
+    /**
+     * Returns audit context of the request processed by the current thread.
+     * @return the context or empty Optional when there is no audited request
+     */
+    public static Optional<AuditContext> current() {
+        AuditContext bound = BOUND.get();
+        if (bound != null) {
+            return Optional.of(bound);
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((AuditContext) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    /**
+     * Makes the audit context of the current request available to the task on the thread which runs it
+     * (request attributes are not accessible there and the request may be already out of its original dispatch).
+     * @return task seeing the current audit context, the task itself when there is no audited request
+     */
+    public static Runnable wrap(Runnable task) {
+        AuditContext context = current().orElse(null);
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            BOUND.set(context);
+            try {
+                task.run();
+            } finally {
+                BOUND.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Captures allowlisted headers of audited requests/responses as a compact JSON object ({"correlation-id":"...", ...})
+ * stored in the JSONB header columns of audit_logs. Only the allowlisted names are looked up (headers are not enumerated),
+ * names are lower-cased, repeated values are joined by ", " and values of masked headers (secrets) keep only their prefix.
+ */
+@Component
+public class AuditHeaderCapture {
+
+    static final String MASK = "***";
+
+    private final String[] names;
+    // "name": prefixes with the JSON escaping already applied, computed once
+    private final String[] jsonKeys;
+    private final boolean[] masked;
+    private final int maskedPrefixLength;
+
+    public AuditHeaderCapture(
+            //captured and masked header names are defined in application.properties
+            @Value("${audit.headers.allowlist:correlation-id,clientid,api-key,content-type,content-length,user-agent}") List<String> allowlist,
+            @Value("${audit.headers.masked:api-key}") List<String> maskedHeaders,
+            @Value("${audit.headers.masked-prefix-length:4}") int maskedPrefixLength) {
+        List<String> normalized = allowlist.stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        Set<String> maskedNormalized = maskedHeaders.stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        this.names = normalized.toArray(String[]::new);
+        this.jsonKeys = new String[names.length];
+        this.masked = new boolean[names.length];
+        for (int i = 0; i < names.length; i++) {
+            StringBuilder key = new StringBuilder(names[i].length() + 3);
+            appendJsonString(key, names[i]);
+            jsonKeys[i] = key.append(':').toString();
+            masked[i] = maskedNormalized.contains(names[i]);
+        }
+        this.maskedPrefixLength = maskedPrefixLength;
+    }
+
+    /**
+     * @return JSON object with allowlisted request headers, "{}" if none of them is present
+     */
+    public String toJson(HttpServletRequest request) {
+        StringBuilder json = new StringBuilder(128).append('{');
+        for (int i = 0; i < names.length; i++) {
+            Enumeration<String> values = request.getHeaders(names[i]);
+            if (values != null && values.hasMoreElements()) {
+                appendField(json, i, values.asIterator());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * @return JSON object with allowlisted response headers, "{}" if none of them is present
+     */
+    public String toJson(HttpServletResponse response) {
+        StringBuilder json = new StringBuilder(128).append('{');
+        for (int i = 0; i < names.length; i++) {
+            Collection<String> values = response.getHeaders(names[i]);
+            if (values != null && !values.isEmpty()) {
+                appendField(json, i, values.iterator());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * @return JSON object with allowlisted headers of an external API request/response, "{}" if none of them is present
+     */
+    public String toJson(HttpHeaders headers) {
+        StringBuilder json = new StringBuilder(128).append('{');
+        for (int i = 0; i < names.length; i++) {
+            List<String> values = headers.get(names[i]);
+            if (values != null && !values.isEmpty()) {
+                appendField(json, i, values.iterator());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private void appendField(StringBuilder json, int index, Iterator<String> values) {
+        if (json.length() > 1) {
+            json.append(',');
+        }
+        json.append(jsonKeys[index]).append('"');
+        boolean first = true;
+        while (values.hasNext()) {
+            String value = values.next();
+            if (value == null) {
+                continue;
+            }
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            if (masked[index]) {
+                appendJsonChars(json, value, 0, Math.min(value.length(), maskedPrefixLength));
+                json.append(MASK);
+            } else {
+                appendJsonChars(json, value, 0, value.length());
+            }
+        }
+        json.append('"');
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        appendJsonChars(json, value, 0, value.length());
+        json.append('"');
+    }
+
+    private static void appendJsonChars(StringBuilder json, String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00");
+                        json.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Keeps the first bytes of a streamed body for the audit log; bytes over the capacity are only counted.
+ * Backing arrays are borrowed from a Pool and must be returned by release() once the body was converted to String.
+ */
+public final class BodyCapture {
+
+    static final String TRUNCATED_SUFFIX = "... [TRUNCATED]";
+
+    private final Pool pool;
+    private byte[] buffer;
+    private int size;
+    private long total;
+
+    private BodyCapture(Pool pool, byte[] buffer) {
+        this.pool = pool;
+        this.buffer = buffer;
+    }
+
+    void write(int b) {
+        if (size < buffer.length) {
+            buffer[size++] = (byte) b;
+        }
+        total++;
+    }
+
+    void write(byte[] b, int off, int len) {
+        int captured = Math.min(len, buffer.length - size);
+        if (captured > 0) {
+            System.arraycopy(b, off, buffer, size, captured);
+            size += captured;
+        }
+        total += len;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int remaining() {
+        return buffer.length - size;
+    }
+
+    /**
+     * Registers bytes read directly into buffer() at position size().
+     */
+    void advance(int len) {
+        size += len;
+        total += len;
+    }
+
+    void reset() {
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * @return captured body decoded as UTF-8 with truncation marker if the body was longer than the capacity, null for empty body
+     */
+    String toBodyString() {
+        if (total == 0) {
+            return null;
+        }
+        if (total == size) {
+            return new String(buffer, 0, size, StandardCharsets.UTF_8);
+        }
+        // the capacity may end inside a multi-byte character, which is left out instead of decoded as U+FFFD
+        return new String(buffer, 0, completeUtf8Length(buffer, size), StandardCharsets.UTF_8) + TRUNCATED_SUFFIX;
+    }
+
+    /**
+     * @return length of the leading bytes which end with a complete UTF-8 sequence
+     */
+    static int completeUtf8Length(byte[] bytes, int length) {
+        // the last byte which is not a continuation byte (10xxxxxx) starts the last sequence (at most 4 bytes long)
+        int start = length - 1;
+        while (start > 0 && length - start < 4 && (bytes[start] & 0xC0) == 0x80) {
+            start--;
+        }
+        if (start < 0) {
+            return length;
+        }
+        int lead = bytes[start] & 0xFF;
+        int sequenceLength = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return start + sequenceLength <= length ? length : start;
+    }
+
+    void release() {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Bounded pool of capture arrays; when empty a new array is allocated, when full a returned array is dropped.
+     */
+    static final class Pool {
+        private final int capacityBytes;
+        private final BlockingQueue<byte[]> buffers;
+
+        Pool(int capacityBytes, int maxPooled) {
+            this.capacityBytes = capacityBytes;
+            this.buffers = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+        }
+
+        BodyCapture acquire() {
+            byte[] buffer = buffers.poll();
+            return new BodyCapture(this, buffer != null ? buffer : new byte[capacityBytes]);
+        }
+
+        private void release(byte[] buffer) {
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Downstream response whose body stream is read directly by the message converters (e.g. Jackson) while its first
+ * bytes are copied into BodyCapture. The completion callback is invoked once, when the response is closed
+ * (RestTemplate always closes it after extracting the body or handling an error). Body left unread by a caller that stops
+ * early (e.g. a streaming scan) is captured on close up to the capture capacity. All body bytes passing through
+ * (read by the caller or captured on close) are counted.
+ */
+class CapturingClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final BodyCapture capture;
+    private final Consumer<CapturingClientHttpResponse> onClose;
+    private CapturingInputStream body;
+    private boolean closed;
+
+    CapturingClientHttpResponse(ClientHttpResponse delegate, BodyCapture capture, Consumer<CapturingClientHttpResponse> onClose) {
+        this.delegate = delegate;
+        this.capture = capture;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new CapturingInputStream(delegate.getBody(), capture);
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (body != null) {
+                body.captureUnread();
+            }
+            delegate.close();
+        } finally {
+            onClose.accept(this);
+        }
+    }
+
+    BodyCapture getCapture() {
+        return capture;
+    }
+
+    /**
+     * @return body bytes read so far (uncompressed if the response was decompressed below)
+     */
+    long getBodyBytes() {
+        return body == null ? 0 : body.count;
+    }
+
+    private static final class CapturingInputStream extends FilterInputStream {
+        private final BodyCapture capture;
+        private long count;
+
+        private CapturingInputStream(InputStream in, BodyCapture capture) {
+            super(in);
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                capture.write(b);
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                capture.write(b, off, read);
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // parsers close their source when done, possibly before reading the whole body
+            captureUnread();
+            super.close();
+        }
+
+        private void captureUnread() {
+            try {
+                while (capture.remaining() > 0) {
+                    int read = in.read(capture.buffer(), capture.size(), capture.remaining());
+                    if (read < 0) {
+                        return;
+                    }
+                    capture.advance(read);
+                    count += read;
+                }
+            } catch (IOException e) {
+                // stream may already be closed by the caller - the audit log keeps what was captured so far
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skipped bytes would be missing in the captured body - read them instead
+            byte[] skipBuffer = new byte[(int) Math.min(n, 2048)];
+            int read = read(skipBuffer, 0, skipBuffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            throw new IOException("mark/reset not supported");
+        }
+    }
+}
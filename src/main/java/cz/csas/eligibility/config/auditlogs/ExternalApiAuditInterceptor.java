@@ -1,26 +1,42 @@
 package cz.csas.eligibility.config.auditlogs;
 
+import cz.csas.eligibility.config.ExternalApi;
+import cz.csas.eligibility.config.GzipClientHttpResponse;
 import cz.csas.eligibility.entity.AuditLog;
 import cz.csas.eligibility.service.AuditLogService;
-import lombok.RequiredArgsConstructor;
+import cz.csas.eligibility.utils.TimeOrderedUuid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.UUID;
+import java.util.Objects;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ExternalApiAuditInterceptor implements ClientHttpRequestInterceptor {
 
     private final AuditLogService auditLogService;
+    private final AuditHeaderCapture auditHeaderCapture;
+    private final int requestBodyMaxBytes;
+    private final BodyCapture.Pool bodyCapturePool;
+
+    public ExternalApiAuditInterceptor(
+            AuditLogService auditLogService,
+            AuditHeaderCapture auditHeaderCapture,
+            //number of captured body bytes and number of pooled capture buffers are defined in application.properties
+            @Value("${audit.external.body-capture-max-bytes:10000}") int bodyCaptureMaxBytes,
+            @Value("${audit.external.body-capture-pool-size:64}") int bodyCapturePoolSize) {
+        this.auditLogService = auditLogService;
+        this.auditHeaderCapture = auditHeaderCapture;
+        this.requestBodyMaxBytes = bodyCaptureMaxBytes;
+        this.bodyCapturePool = new BodyCapture.Pool(bodyCaptureMaxBytes, bodyCapturePoolSize);
+    }
 
     @Override
     public ClientHttpResponse intercept(
@@ -28,7 +44,7 @@ public class ExternalApiAuditInterceptor implements ClientHttpRequestInterceptor
             byte[] body,
             ClientHttpRequestExecution execution) throws IOException {
 
-        String requestId = UUID.randomUUID().toString();
+        String requestId = TimeOrderedUuid.nextString();
         long startTime = System.currentTimeMillis();
 
         // Assembly audit log record for the request
@@ -37,69 +53,99 @@ public class ExternalApiAuditInterceptor implements ClientHttpRequestInterceptor
                 .apiName(determineApiName(request.getURI().getHost()))
                 .method(request.getMethod().name())
                 .url(request.getURI().toString())
-                .requestHeaders(request.getHeaders().toString())
-                .requestBody(body.length > 0 ? new String(body, StandardCharsets.UTF_8) : null)
+                .requestHeaders(auditHeaderCapture.toJson(request.getHeaders()))
+                .requestBody(extractRequestBody(body))
                 .correlationId(extractCorrelationId(request))
                 .userId(extractUserId(request));
 
-        ClientHttpResponse response = null;
         try {
             // execute request
-            response = execution.execute(request, body);
-
-            // read response
-            String responseBody = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            String responseHeaders = auditHeaderCapture.toJson(response.getHeaders());
+
+            // response body is streamed to the caller (e.g. Jackson) and its first bytes are captured on the way;
+            // audit log is completed when the caller closes the response
+            // responses decompressed by GzipResponseInterceptor report the compressed size read from the connection
+            return new CapturingClientHttpResponse(response, bodyCapturePool.acquire(), captured -> {
+                try {
+                    Long compressedBytes = response instanceof GzipClientHttpResponse gzip ? gzip.getCompressedBytes() : null;
+                    completeAuditLog(auditLogBuilder, request, requestId, startTime, status, responseHeaders,
+                            captured.getCapture(), captured.getBodyBytes(), compressedBytes);
+                } finally {
+                    captured.getCapture().release();
+                }
+            });
 
+        } catch (Exception e) {
             long executionTime = System.currentTimeMillis() - startTime;
-            boolean isSuccess = response.getStatusCode().is2xxSuccessful();
 
-            // assembly audit log record for response
+            // assembly audit log record in case of error
             AuditLog auditLog = auditLogBuilder
-                    .responseStatus(response.getStatusCode().value())
-                    .responseHeaders(response.getHeaders().toString())
-                    .responseBody(responseBody)
                     .executionTimeMs(executionTime)
-                    .success(isSuccess)
+                    .success(false)
+                    .errorMessage(e.getMessage())
+                    .exceptionName(e.getClass().getName())
                     .build();
 
-            // save audit log to DB (asynchronously)
             auditLogService.saveAuditLog(auditLog);
+            AuditContext.current().ifPresent(auditContext -> auditContext.addDownstreamTiming(auditLog.getApiName(), executionTime));
 
-            log.info("Audit log: External API call completed with result {} - RequestId: {}, CorrelationId: {}, API: {}, Status: {}, Duration: {}ms",
-                    isSuccess? "SUCCESS" : "FAILURE",
-                    requestId, extractCorrelationId(request), auditLog.getApiName(), response.getStatusCode().value(), executionTime);
+            log.error("Audit log: External API call failed - RequestId: {}, CorrelationId: {}, API: {}, Duration: {}ms, Error type: {}, Error message: {}",
+                    requestId, extractCorrelationId(request), auditLog.getApiName(), executionTime, e.getClass().getName(), e.getMessage());
 
-            return response;
+            throw e;
+        }
+    }
 
-        } catch (Exception e) {
+    private void completeAuditLog(AuditLog.AuditLogBuilder auditLogBuilder,
+                                  HttpRequest request,
+                                  String requestId,
+                                  long startTime,
+                                  int status,
+                                  String responseHeaders,
+                                  BodyCapture responseCapture,
+                                  long responseBytes,
+                                  Long responseCompressedBytes) {
+        try {
             long executionTime = System.currentTimeMillis() - startTime;
+            boolean isSuccess = status >= 200 && status < 300;
 
-            // assembly audit log record in case of error
+            // assembly audit log record for response
             AuditLog auditLog = auditLogBuilder
+                    .responseStatus(status)
+                    .responseHeaders(responseHeaders)
+                    .responseBody(Objects.requireNonNullElse(responseCapture.toBodyString(), ""))
+                    .responseSizeBytes(responseBytes)
+                    .responseCompressedSizeBytes(responseCompressedBytes)
                     .executionTimeMs(executionTime)
-                    .success(false)
-                    .errorMessage(e.getMessage())
-                    .exceptionName(e.getClass().getName())
+                    .success(isSuccess)
                     .build();
 
+            // save audit log to DB (asynchronously)
             auditLogService.saveAuditLog(auditLog);
+            AuditContext.current().ifPresent(auditContext -> auditContext.addDownstreamTiming(auditLog.getApiName(), executionTime));
 
-            log.error("Audit log: External API call failed - RequestId: {}, CorrelationId: {}, API: {}, Duration: {}ms, Error type: {}, Error message: {}",
-                    requestId, extractCorrelationId(request), auditLog.getApiName(), executionTime, e.getClass().getName(), e.getMessage());
+            log.info("Audit log: External API call completed with result {} - RequestId: {}, CorrelationId: {}, API: {}, Status: {}, Duration: {}ms",
+                    isSuccess? "SUCCESS" : "FAILURE",
+                    requestId, extractCorrelationId(request), auditLog.getApiName(), status, executionTime);
+        } catch (Exception e) {
+            log.error("Audit log: Failed to create and save external API audit log for RequestId: {}", requestId, e);
+        }
+    }
 
-            throw e;
+    private String extractRequestBody(byte[] body) {
+        if (body.length == 0) {
+            return null;
         }
+        if (body.length <= requestBodyMaxBytes) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return new String(body, 0, requestBodyMaxBytes, StandardCharsets.UTF_8) + BodyCapture.TRUNCATED_SUFFIX;
     }
 
     private String determineApiName(String host) {
-        if (host != null) {
-            if (host.contains("accounts.cluster.domain.cz")) {
-                return "AccountsServer";
-            } else if (host.contains("clients.cluster.domain.cz")) {
-                return "ClientsServer";
-            }
-        }
-        return "Unknown";
+        return ExternalApi.ofHost(host).map(ExternalApi::getApiName).orElse("Unknown");
     }
 
     private String extractCorrelationId(HttpRequest request) {
@@ -0,0 +1,26 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registration of the REST audit filter (see RestApiAuditFilter).
+ */
+@Configuration
+public class RestApiAuditConfig {
+
+    /**
+     * Runs first, before the rate and concurrency limits (their rejections are audited as well). Async dispatches pass
+     * through the filter too, the audit log of an async request is completed once after its async processing.
+     */
+    @Bean
+    public FilterRegistrationBean<RestApiAuditFilter> restApiAuditFilterRegistration(RestApiAuditFilter restApiAuditFilter) {
+        FilterRegistrationBean<RestApiAuditFilter> registration = new FilterRegistrationBean<>(restApiAuditFilter);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
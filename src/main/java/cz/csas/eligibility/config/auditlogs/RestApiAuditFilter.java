@@ -2,87 +2,147 @@ package cz.csas.eligibility.config.auditlogs;
 
 import cz.csas.eligibility.entity.AuditLog;
 import cz.csas.eligibility.service.AuditLogService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.utils.TimeOrderedUuid;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
 
+/**
+ * Audits every REST API call. Registered (order, dispatcher types) by RestApiAuditConfig.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
-@Order(Ordered.HIGHEST_PRECEDENCE)
 public class RestApiAuditFilter implements Filter {
 
     private final AuditLogService auditLogService;
-    private final ObjectMapper objectMapper;
+    private final AuditHeaderCapture auditHeaderCapture;
+    private final Set<String> bodyCaptureExcludedPaths;
+    private final BodyCapture.Pool bodyCapturePool;
+
+    public RestApiAuditFilter(
+            AuditLogService auditLogService,
+            AuditHeaderCapture auditHeaderCapture,
+            //paths with potentially huge streamed responses (e.g. exports) whose bodies must not be captured are defined in application.properties
+            @Value("${audit.rest.body-capture-excluded-paths:/api/v1/ops/audit-logs/export}") List<String> bodyCaptureExcludedPaths,
+            //number of captured body bytes and number of pooled capture buffers are defined in application.properties
+            @Value("${audit.rest.body-capture-max-bytes:10000}") int bodyCaptureMaxBytes,
+            @Value("${audit.rest.body-capture-pool-size:64}") int bodyCapturePoolSize) {
+        this.auditLogService = auditLogService;
+        this.auditHeaderCapture = auditHeaderCapture;
+        this.bodyCaptureExcludedPaths = Set.copyOf(bodyCaptureExcludedPaths);
+        this.bodyCapturePool = new BodyCapture.Pool(bodyCaptureMaxBytes, bodyCapturePoolSize);
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // async dispatch writing the result of a request audited by its original dispatch (see below)
+            chain.doFilter(request, response);
+            return;
+        }
+
         //conversion to HttpServletRequest/HttpServletResponse to access http-specific API (to access url, headers, methods, body...)
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-        // Wrap request and response to cache their bodies (wrappers ensures that body can be read multiple times)
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpResponse);
+        // Wrap request and response to copy the first bytes of their bodies for the audit log while they are streamed
+        // Bodiless requests (typical GET) are not wrapped; excluded paths are not captured at all
+        boolean captureBodies = !bodyCaptureExcludedPaths.contains(httpRequest.getRequestURI());
+        BodyCapture requestCapture = captureBodies && hasBody(httpRequest) ? bodyCapturePool.acquire() : null;
+        BodyCapture responseCapture = captureBodies ? bodyCapturePool.acquire() : null;
+        HttpServletRequest requestWrapper = requestCapture != null ? new CapturingRequestWrapper(httpRequest, requestCapture) : httpRequest;
+        HttpServletResponse responseWrapper = responseCapture != null ? new CapturingResponseWrapper(httpResponse, responseCapture) : httpResponse;
 
-        String requestId = UUID.randomUUID().toString();
+        // time-ordered ids keep inserts into idx_audit_logs_request_id at the right edge of the index
+        String requestId = TimeOrderedUuid.nextString();
         String correlationId = extractCorrelationId(requestWrapper);
 
-        long startTime = System.currentTimeMillis();
+        // filled during processing by exception handler, services and interceptors (see AuditContext.current())
+        AuditContext auditContext = new AuditContext();
+        requestWrapper.setAttribute(AuditContext.ATTRIBUTE, auditContext);
 
-        // Pre-load request body into cache regardless of method - preloadRequestBody() explicitly reads whole stream and saves it into cache
-        preloadRequestBody(requestWrapper);
+        long startTime = System.currentTimeMillis();
+        Runnable completion = () -> complete(requestWrapper, responseWrapper, auditContext, requestId, correlationId,
+                System.currentTimeMillis() - startTime, requestCapture, responseCapture);
 
+        boolean asyncStarted = false;
         try {
             //hands over the request to other filters up to the controller
             chain.doFilter(requestWrapper, responseWrapper);
+            asyncStarted = requestWrapper.isAsyncStarted();
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
+            if (asyncStarted) {
+                // the response is written by an async dispatch through the same wrappers; audit log is completed after it
+                requestWrapper.getAsyncContext().addListener(new CompletionListener(completion));
+            } else {
+                completion.run();
+            }
+        }
+    }
 
-            createAndSaveAuditLog(requestWrapper, responseWrapper, requestId, correlationId, executionTime);
+    private void complete(HttpServletRequest requestWrapper,
+                          HttpServletResponse responseWrapper,
+                          AuditContext auditContext,
+                          String requestId,
+                          String correlationId,
+                          long executionTime,
+                          BodyCapture requestCapture,
+                          BodyCapture responseCapture) {
+        // response body was already streamed to the client; only the writer buffer has to be pushed through
+        if (responseWrapper instanceof CapturingResponseWrapper capturingResponse) {
+            capturingResponse.flushWriter();
+        }
+        // body not read by the application (e.g. ignored by the endpoint) is captured up to the capture capacity
+        if (requestWrapper instanceof CapturingRequestWrapper capturingRequest) {
+            captureUnreadBody(capturingRequest);
+        }
 
-            // copy response body back so that the client receives the expected HTTP response body in the response
-            responseWrapper.copyBodyToResponse();
+        try {
+            createAndSaveAuditLog(requestWrapper, responseWrapper, auditContext, requestId, correlationId, executionTime,
+                    requestCapture, responseCapture);
+        } finally {
+            if (requestCapture != null) {
+                requestCapture.release();
+            }
+            if (responseCapture != null) {
+                responseCapture.release();
+            }
         }
     }
 
-    private void preloadRequestBody(ContentCachingRequestWrapper request) {
+    private static boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader("Transfer-Encoding") != null;
+    }
+
+    private void captureUnreadBody(CapturingRequestWrapper request) {
         try {
-            // Read entire body to fill cache
-            byte[] buffer = new byte[request.getContentLength() > 0 ? request.getContentLength() : 0];
-            if (buffer.length > 0) {
-                request.getInputStream().read(buffer);
-            }
+            request.captureUnreadBody();
         } catch (IOException e) {
-            log.debug("Could not pre-load request body", e);
+            log.debug("Could not capture unread request body", e);
         }
     }
 
-    private void createAndSaveAuditLog(ContentCachingRequestWrapper request,
-                                       ContentCachingResponseWrapper response,
+    private void createAndSaveAuditLog(HttpServletRequest request,
+                                       HttpServletResponse response,
+                                       AuditContext auditContext,
                                        String requestId,
                                        String correlationId,
-                                       long executionTime) {
+                                       long executionTime,
+                                       BodyCapture requestCapture,
+                                       BodyCapture responseCapture) {
         try {
-            String requestBody = extractRequestBody(request);
-            String responseBody = extractResponseBody(response);
-            String errorMessage = extractErrorMessage(responseBody);
+            String requestBody = requestCapture != null ? requestCapture.toBodyString() : null;
+            String responseBody = responseCapture != null ? responseCapture.toBodyString() : null;
 
             boolean isSuccess = response.getStatus() >= 200 && response.getStatus() < 300;
 
@@ -92,95 +152,69 @@ public class RestApiAuditFilter implements Filter {
                     .method(request.getMethod())
                     .url(request.getRequestURL().toString()
                             + (request.getQueryString() != null ? "?" + request.getQueryString() : ""))
-                    .requestHeaders(formatHeaders(request))
+                    .requestHeaders(auditHeaderCapture.toJson(request))
                     .requestBody(requestBody)
                     .responseStatus(response.getStatus())
-                    .responseHeaders(formatHeaders(response))
+                    .responseHeaders(auditHeaderCapture.toJson(response))
                     .responseBody(responseBody)
                     .executionTimeMs(executionTime)
                     .success(isSuccess)
-                    .errorMessage(errorMessage)
+                    .errorMessage(auditContext.getErrorMessage())
+                    .exceptionName(auditContext.getExceptionName())
                     .correlationId(correlationId)
                     .userId(extractUserId(request))
                     .build();
 
             auditLogService.saveAuditLog(logEntry);
 
-            log.info("Audit log: REST API call completed with result {} - RequestId={} Status={} Duration={}ms",
+            log.info("Audit log: REST API call completed with result {} - RequestId={} Status={} Duration={}ms EligibilityResult={} DownstreamTimings={}",
                     isSuccess? "SUCCESS" : "FAILURE",
-                    requestId, response.getStatus(), executionTime);
+                    requestId, response.getStatus(), executionTime,
+                    auditContext.getEligibilityResult(), auditContext.getDownstreamTimingsMs());
 
         } catch (Exception e) {
             log.error("Audit log: Failed to create and save REST API audit log for RequestId={}, CorrelationId={}", requestId, correlationId, e);
         }
     }
 
-    private String extractRequestBody(ContentCachingRequestWrapper request) {
-        byte[] content = request.getContentAsByteArray();
-        if (content.length == 0) {
-            return null;
-        }
-        String body = new String(content, StandardCharsets.UTF_8);
-        return body.length() > 10000 ? body.substring(0, 10000) + "... [TRUNCATED]" : body;
+    private String extractCorrelationId(HttpServletRequest request) {
+        return Objects.nonNull(request.getHeader("correlation-id"))
+                ? request.getHeader("correlation-id")
+                : null;
     }
 
-    private String extractResponseBody(ContentCachingResponseWrapper response) {
-        byte[] content = response.getContentAsByteArray();
-        if (content.length == 0) {
-            return null;
-        }
-        String body = new String(content, StandardCharsets.UTF_8);
-        return body.length() > 10000 ? body.substring(0, 10000) + "... [TRUNCATED]" : body;
+    private String extractUserId(HttpServletRequest request) {
+        // Implemented logic for extraction of user ID from JWT or from session
+        // We have no such logic now, therefore SYSTEM
+        return "SYSTEM";
     }
 
-    private String extractErrorMessage(String responseBody) {
-        if (responseBody == null || responseBody.isBlank()) {
-            return null;
-        }
-        try {
-            JsonNode node = objectMapper.readTree(responseBody);
-            if (node.has("errorMessage")) {
-                return node.get("errorMessage").asText();
-            }
-        } catch (IOException e) {
-            log.debug("Could not parse errorMessage from response body", e);
-        }
-        return null;
-    }
+    /**
+     * Completes the audit log once an async request is finished (also after a timeout or an error, which end by completion).
+     */
+    private static final class CompletionListener implements AsyncListener {
 
-    private String formatHeaders(HttpServletRequest request) {
-        StringBuilder sb = new StringBuilder().append("[");;
-        request.getHeaderNames().asIterator()
-                .forEachRemaining(h -> sb.append(h).append(":").append("\"").append(request.getHeader(h)).append("\"").append("; "));
+        private final Runnable completion;
 
-        if (sb.length() > 2 && sb.substring(sb.length() - 2).equals("; ")) {
-            sb.delete(sb.length() - 2, sb.length());
+        private CompletionListener(Runnable completion) {
+            this.completion = completion;
         }
 
-        return sb.append("]").toString();
-    }
-
-    private String formatHeaders(HttpServletResponse response) {
-        StringBuilder sb = new StringBuilder().append("[");
-        response.getHeaderNames()
-                .forEach(h -> sb.append(h).append(":").append("\"").append(response.getHeader(h)).append("\"").append("; "));
-
-        if (sb.length() > 2 && sb.substring(sb.length() - 2).equals("; ")) {
-            sb.delete(sb.length() - 2, sb.length());
+        @Override
+        public void onComplete(AsyncEvent event) {
+            completion.run();
         }
 
-        return sb.append("]").toString();
-    }
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
 
-    private String extractCorrelationId(ContentCachingRequestWrapper request) {
-        return Objects.nonNull(request.getHeader("correlation-id"))
-                ? request.getHeader("correlation-id")
-                : null;
-    }
+        @Override
+        public void onError(AsyncEvent event) {
+        }
 
-    private String extractUserId(ContentCachingRequestWrapper request) {
-        // Implemented logic for extraction of user ID from JWT or from session
-        // We have no such logic now, therefore SYSTEM
-        return "SYSTEM";
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
     }
 }
@@ -0,0 +1,216 @@
+package cz.csas.eligibility.config.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import cz.csas.eligibility.dto.CacheInvalidationStatsDto;
+import cz.csas.eligibility.utils.LatencySketch;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide invalidation of the local client caches over PostgreSQL LISTEN/NOTIFY (no other infrastructure needed).
+ * Invalidations are published by publish() (admin endpoint) or by database triggers as NOTIFY on channel
+ * cache_invalidation with payload {"clientId":"...","sentAt":epochMillis} (no clientId = evict everything).
+ * Every instance listens on its own dedicated connection (outside the pools) and evicts matching entries; the lag between
+ * sentAt and the eviction is recorded. After a reconnect all caches are cleared, because notifications sent while
+ * the connection was down are lost.
+ * On other databases (H2) invalidations are applied to the local caches of this instance only.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    static final String CHANNEL = "cache_invalidation";
+    static final String CLIENT_ID_FIELD = "clientId";
+    static final String SENT_AT_FIELD = "sentAt";
+
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long VALIDATION_INTERVAL_MS = 30_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final ClientCacheRegistry clientCacheRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean postgres;
+
+    private final AtomicLong received = new AtomicLong();
+    // guarded by itself
+    private final LatencySketch lagSketch = new LatencySketch();
+    private volatile Long lastLagMs;
+    private volatile long maxLagMs;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(ClientCacheRegistry clientCacheRegistry, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                DataSourceProperties dataSourceProperties) {
+        this.clientCacheRegistry = clientCacheRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.postgres = dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * Publishes invalidation of cached values of the client to all instances.
+     * @param clientId client whose cached values are evicted, null to evict everything
+     */
+    public void publish(String clientId) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        if (clientId != null) {
+            payload.put(CLIENT_ID_FIELD, clientId);
+        }
+        payload.put(SENT_AT_FIELD, System.currentTimeMillis());
+
+        if (postgres) {
+            // delivered to every listening instance, including this one
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload.toString());
+        } else {
+            onInvalidation(payload.toString(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return number of processed invalidations and their lag (publish to eviction)
+     */
+    public CacheInvalidationStatsDto getStats() {
+        synchronized (lagSketch) {
+            return new CacheInvalidationStatsDto(
+                    listening,
+                    received.get(),
+                    lastLagMs,
+                    lagSketch.quantile(0.5),
+                    lagSketch.quantile(0.95),
+                    lagSketch.quantile(0.99),
+                    lagSketch.count() > 0 ? maxLagMs : null);
+        }
+    }
+
+    /**
+     * Evicts cached values named by the notification payload and records the invalidation lag.
+     */
+    void onInvalidation(String payload, long receivedAtMillis) {
+        JsonNode notification;
+        try {
+            notification = objectMapper.readTree(payload);
+        } catch (IOException e) {
+            log.warn("Malformed cache invalidation '{}', evicting all cached values", payload);
+            clientCacheRegistry.evictAll();
+            return;
+        }
+
+        JsonNode clientId = notification.get(CLIENT_ID_FIELD);
+        if (clientId == null || clientId.isNull()) {
+            clientCacheRegistry.evictAll();
+        } else {
+            clientCacheRegistry.evict(clientId.asText());
+        }
+        received.incrementAndGet();
+
+        JsonNode sentAt = notification.get(SENT_AT_FIELD);
+        if (sentAt != null && sentAt.canConvertToLong()) {
+            // clocks of instances (or of the database for triggers) may differ slightly
+            long lagMs = Math.max(0, receivedAtMillis - sentAt.asLong());
+            synchronized (lagSketch) {
+                lagSketch.record(lagMs);
+                maxLagMs = Math.max(maxLagMs, lagMs);
+            }
+            lastLagMs = lagMs;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!postgres) {
+            log.info("Database does not support LISTEN/NOTIFY, cache invalidations are applied to this instance only");
+            return;
+        }
+        listenerThread = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(POLL_TIMEOUT_MS * 4L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // notifications sent before LISTEN (or while disconnected) are lost
+                clientCacheRegistry.evictAll();
+                listening = true;
+                log.info("Listening for cache invalidations on channel '{}'", CHANNEL);
+                receive(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {} ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long lastActivity = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+            long now = System.currentTimeMillis();
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    onInvalidation(notification.getParameter(), now);
+                }
+                lastActivity = now;
+            } else if (now - lastActivity > VALIDATION_INTERVAL_MS) {
+                // a silently dropped connection would never deliver notifications
+                if (!connection.isValid(2)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                lastActivity = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package cz.csas.eligibility.config.cache;
+
+import cz.csas.eligibility.dto.CacheWarmupStatusDto;
+import cz.csas.eligibility.service.ApiServiceAccounts;
+import cz.csas.eligibility.service.ApiServiceClients;
+import cz.csas.eligibility.service.EligibilityReportingService;
+import cz.csas.eligibility.utils.TimeOrderedUuid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional warm-up of the client caches after a deployment: client details and open account checks of the most recently
+ * evaluated clients are prefetched at a limited rate, so that the new instance does not start with cold caches.
+ * Runs before the application becomes ready (ApplicationRunner), until the warm-set fraction of clients is loaded,
+ * all clients were tried or the timeout expires. A failing warm-up never prevents the start.
+ */
+@Component
+@Slf4j
+public class CacheWarmup implements ApplicationRunner {
+
+    static final String CORRELATION_ID_PREFIX = "cache-warmup-";
+
+    enum State { DISABLED, RUNNING, COMPLETED, TIMED_OUT }
+
+    private final EligibilityReportingService eligibilityReportingService;
+    private final ApiServiceClients apiServiceClients;
+    private final ApiServiceAccounts apiServiceAccounts;
+    private final ClientCacheRegistry clientCacheRegistry;
+    private final boolean enabled;
+    private final int maxClients;
+    private final long lookbackHours;
+    private final double ratePerSecond;
+    private final int concurrency;
+    private final double readyFraction;
+    private final long timeoutMs;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile State state = State.DISABLED;
+    private volatile int clients;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public CacheWarmup(
+            EligibilityReportingService eligibilityReportingService,
+            ApiServiceClients apiServiceClients,
+            ApiServiceAccounts apiServiceAccounts,
+            ClientCacheRegistry clientCacheRegistry,
+            //warm-up set, pace and readiness condition are defined in application.properties
+            @Value("${cache.warmup.enabled:false}") boolean enabled,
+            @Value("${cache.warmup.max-clients:1000}") int maxClients,
+            @Value("${cache.warmup.lookback-hours:24}") long lookbackHours,
+            @Value("${cache.warmup.rate-per-second:50}") double ratePerSecond,
+            @Value("${cache.warmup.concurrency:4}") int concurrency,
+            @Value("${cache.warmup.ready-fraction:0.9}") double readyFraction,
+            @Value("${cache.warmup.timeout-ms:60000}") long timeoutMs) {
+        this.eligibilityReportingService = eligibilityReportingService;
+        this.apiServiceClients = apiServiceClients;
+        this.apiServiceAccounts = apiServiceAccounts;
+        this.clientCacheRegistry = clientCacheRegistry;
+        this.enabled = enabled;
+        this.maxClients = maxClients;
+        this.lookbackHours = lookbackHours;
+        this.ratePerSecond = ratePerSecond;
+        this.concurrency = concurrency;
+        this.readyFraction = readyFraction;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (clientCacheRegistry.getCaches().stream().noneMatch(ClientCache::isEnabled)) {
+            log.info("Cache warm-up skipped, client caches are disabled");
+            return;
+        }
+        try {
+            warmUp();
+        } catch (Exception e) {
+            log.error("Cache warm-up failed, starting with cold caches", e);
+            finish(State.COMPLETED);
+        }
+    }
+
+    /**
+     * @return progress of the warm-up
+     */
+    public CacheWarmupStatusDto getStatus() {
+        long elapsed = state == State.DISABLED ? 0
+                : (state == State.RUNNING ? System.currentTimeMillis() : finishedAt) - startedAt;
+        return new CacheWarmupStatusDto(state.name(), clients, loaded.get(), failed.get(), elapsed);
+    }
+
+    void warmUp() throws InterruptedException {
+        startedAt = System.currentTimeMillis();
+        state = State.RUNNING;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        List<String> clientIds = eligibilityReportingService.getRecentlyActiveClientIds(
+                LocalDateTime.now().minusHours(lookbackHours), maxClients);
+        clients = clientIds.size();
+        int target = (int) Math.ceil(readyFraction * clientIds.size());
+        log.info("Cache warm-up of {} recently active clients started", clientIds.size());
+
+        // no queue - when all workers are busy the submitting thread prefetches itself, which slows the submission down
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-warmup");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        boolean allTried = false;
+        try {
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            long next = System.nanoTime();
+            for (String clientId : clientIds) {
+                if (loaded.get() >= target || System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                // time lost while the submitting thread prefetched itself is not caught up by a burst
+                next = Math.max(next + intervalNanos, System.nanoTime() - intervalNanos);
+                executor.execute(() -> prefetch(clientId));
+            }
+
+            executor.shutdown();
+            while (loaded.get() < target && !allTried && System.nanoTime() - deadline < 0) {
+                allTried = executor.awaitTermination(50, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            // prefetches still running do not delay the readiness
+            executor.shutdownNow();
+        }
+
+        finish(loaded.get() >= target || allTried ? State.COMPLETED : State.TIMED_OUT);
+        log.info("Cache warm-up {}: {} of {} clients loaded ({} failed) in {} ms",
+                state, loaded.get(), clients, failed.get(), finishedAt - startedAt);
+    }
+
+    private void prefetch(String clientId) {
+        String correlationId = CORRELATION_ID_PREFIX + TimeOrderedUuid.nextString();
+        try {
+            apiServiceClients.getClientDetail(clientId, correlationId);
+            apiServiceAccounts.hasOpenAccount(clientId, correlationId);
+            loaded.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.debug("Cache warm-up of client {} failed: {}", clientId, e.getMessage());
+        }
+    }
+
+    private void finish(State finalState) {
+        finishedAt = System.currentTimeMillis();
+        state = finalState;
+    }
+}
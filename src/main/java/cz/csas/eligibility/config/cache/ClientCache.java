@@ -0,0 +1,141 @@
+package cz.csas.eligibility.config.cache;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Local (per instance) cache of values keyed by clientId, with time-to-live and a limit on the number of entries
+ * (the oldest entries are evicted first - with one time-to-live per cache they also expire first).
+ * Entries are evicted cluster-wide by CacheInvalidationBus. A value whose load overlapped an eviction of the same client
+ * is not kept, so a load started before a correction cannot bring the stale value back.
+ * @param <V> cached value
+ */
+public class ClientCache<V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxEntries;
+    // values and pending loads (see get())
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    // cached entries in insertion order; entries evicted or replaced meanwhile are skipped when polled
+    private final Queue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    ClientCache(String name, long ttlMs, int maxEntries) {
+        this.name = name;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        this.maxEntries = maxEntries;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return false if caching is disabled (time-to-live 0) - every get() calls the loader
+     */
+    public boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * @return number of entries, including loads in progress
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return cached value of the client, or value returned by the loader (cached unless it is null)
+     */
+    public V get(String clientId, Supplier<V> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        Entry<V> entry = entries.get(clientId);
+        if (entry != null && entry.isValid(System.nanoTime())) {
+            return entry.value;
+        }
+
+        // the pending entry marks the load; an eviction of the client removes it and the loaded value is then not kept
+        Entry<V> pending = new Entry<>(clientId, null, 0);
+        entries.put(clientId, pending);
+        V value = null;
+        try {
+            value = loader.get();
+        } finally {
+            if (value == null || !put(pending, value)) {
+                entries.remove(clientId, pending);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes cached value of the client.
+     */
+    public void evict(String clientId) {
+        entries.remove(clientId);
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Replaces the pending entry by the loaded value, unless the client was evicted (or loaded again) meanwhile.
+     */
+    private boolean put(Entry<V> pending, V value) {
+        long now = System.nanoTime();
+        Entry<V> entry = new Entry<>(pending.clientId, value, now + ttlNanos);
+        if (!entries.replace(pending.clientId, pending, entry)) {
+            return false;
+        }
+        insertionOrder.offer(entry);
+        queued.incrementAndGet();
+        evictOldest(now);
+        return true;
+    }
+
+    /**
+     * Removes the oldest entries while the cache is over its limit or they are expired. Skipped (already evicted or
+     * replaced) entries are dropped from the queue as well; it is kept within twice the limit.
+     */
+    private void evictOldest(long now) {
+        Entry<V> oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (!oldest.isValid(now) || entries.size() > maxEntries || queued.get() > 2 * maxEntries)) {
+            oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            entries.remove(oldest.clientId, oldest);
+        }
+    }
+
+    // compared by identity - a pending entry is replaced or removed only by the load that created it
+    private static final class Entry<V> {
+
+        private final String clientId;
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(String clientId, V value, long expiresAt) {
+            this.clientId = clientId;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isValid(long now) {
+            return value != null && expiresAt - now > 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cz.csas.eligibility.config.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the local client caches and evicts entries of a client from all of them.
+ */
+@Component
+public class ClientCacheRegistry {
+
+    private final List<ClientCache<?>> caches = new CopyOnWriteArrayList<>();
+    private final int maxEntries;
+
+    public ClientCacheRegistry(
+            //size limit of every cache is defined in application.properties
+            @Value("${cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param name name of the cache (for logs and stats)
+     * @param ttlMs time-to-live of cached values, 0 disables the cache
+     * @return new cache evicted together with the others
+     */
+    public <V> ClientCache<V> create(String name, long ttlMs) {
+        ClientCache<V> cache = new ClientCache<>(name, ttlMs, maxEntries);
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Evicts cached values of the client from all caches.
+     */
+    public void evict(String clientId) {
+        caches.forEach(cache -> cache.evict(clientId));
+    }
+
+    /**
+     * Evicts all cached values from all caches.
+     */
+    public void evictAll() {
+        caches.forEach(ClientCache::clear);
+    }
+
+    public List<ClientCache<?>> getCaches() {
+        return List.copyOf(caches);
+    }
+}
@@ -0,0 +1,158 @@
+package cz.csas.eligibility.config.concurrency;
+
+import cz.csas.eligibility.dto.ConcurrencyLimitStatsDto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit of concurrently processed requests adapted to measured latency (gradient algorithm).
+ * The latency of every completed request is compared with its long-term average (exponential moving average over
+ * longWindow samples): while latency stays within tolerance times the average, the limit grows by its square root
+ * (the allowed queue); when latency rises above it, the limit shrinks by the ratio of both (at most to one half).
+ * Failed requests (5xx, timeouts of the downstream APIs) shrink the limit by backoffRatio. Changes are smoothed and kept
+ * within [minLimit, maxLimit]. Requests completed while less than half of the limit was used say nothing about
+ * the capacity and do not change it.
+ * When latency drops back (e.g. downstream recovered after a long incident), the long-term average is decayed faster
+ * so that the limit is not held down by latencies which are no longer relevant.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // long-term average is decayed when it is more than this multiple of the current latency
+    private static final double LONG_RTT_DECAY_THRESHOLD = 2.0;
+    private static final double LONG_RTT_DECAY = 0.95;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double longRttFactor;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    // read without lock by tryAcquire(), written under lock by onSample()
+    private volatile int limit;
+    // guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long lastRttNanos;
+
+    /**
+     * @param initialLimit limit before the first measured request
+     * @param minLimit limit never drops below (keeps the endpoint available during a long incident)
+     * @param maxLimit limit never grows above (e.g. size of the server thread pool)
+     * @param tolerance latency may grow to this multiple of its long-term average before the limit shrinks (>= 1)
+     * @param smoothing weight of a new limit estimate in the limit (0-1]
+     * @param backoffRatio multiplier of the limit after a failed request (0-1)
+     * @param longWindow number of samples of the long-term latency average
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                                    double backoffRatio, int longWindow) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1 || smoothing <= 0 || smoothing > 1
+                || backoffRatio <= 0 || backoffRatio >= 1 || longWindow < 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.longRttFactor = 2.0 / (longWindow + 1);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Admits a request if the limit is not reached. Admitted request must be completed by onSample() or release().
+     * @return number of requests in flight including the admitted one, 0 if the request is rejected
+     */
+    public int tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return 0;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        accepted.increment();
+        return current + 1;
+    }
+
+    /**
+     * Completes an admitted request without affecting the limit (e.g. request not suitable for measurement).
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Completes an admitted request and adapts the limit to its latency.
+     * @param rttNanos processing time of the request
+     * @param inFlightAtStart value returned by tryAcquire() for the request
+     * @param failed true if the request failed because of overload or unavailable downstream (shrinks the limit)
+     */
+    public void onSample(long rttNanos, int inFlightAtStart, boolean failed) {
+        inFlight.decrementAndGet();
+        if (failed) {
+            this.failed.increment();
+        }
+        update(Math.max(rttNanos, 1), inFlightAtStart, failed);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean failed) {
+        lastRttNanos = rttNanos;
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * longRttFactor;
+            if (longRttNanos / rttNanos > LONG_RTT_DECAY_THRESHOLD) {
+                longRttNanos *= LONG_RTT_DECAY;
+            }
+        }
+
+        double newLimit;
+        if (failed) {
+            newLimit = estimatedLimit * backoffRatio;
+        } else if (inFlightAtStart < estimatedLimit / 2) {
+            // application limited - the latency was measured far below the limit
+            return;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        }
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return current limit, requests in flight, counters since start and latencies (null before the first sample)
+     */
+    public synchronized ConcurrencyLimitStatsDto getStats() {
+        boolean sampled = longRttNanos > 0;
+        return new ConcurrencyLimitStatsDto(
+                limit,
+                minLimit,
+                maxLimit,
+                inFlight.get(),
+                accepted.sum(),
+                rejected.sum(),
+                failed.sum(),
+                sampled ? lastRttNanos / 1_000_000.0 : null,
+                sampled ? longRttNanos / 1_000_000.0 : null);
+    }
+}
@@ -0,0 +1,51 @@
+package cz.csas.eligibility.config.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limit of GET /api/v1/eligibility (see AdaptiveConcurrencyLimit).
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    static final String LIMITED_PATH = "/api/v1/eligibility";
+
+    @Bean
+    public AdaptiveConcurrencyLimit eligibilityConcurrencyLimit(
+            //limits and parameters of the limit adaptation are defined in application.properties
+            @Value("${eligibility.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${eligibility.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${eligibility.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${eligibility.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${eligibility.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${eligibility.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${eligibility.concurrency-limit.long-window:600}") int longWindow) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing, backoffRatio, longWindow);
+    }
+
+    /**
+     * Runs after the REST audit filter and after the request context is bound (rejections are written into the audit context).
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimit eligibilityConcurrencyLimit,
+            ObjectMapper objectMapper,
+            //switch of the limit and Retry-After of rejected requests are defined in application.properties
+            @Value("${eligibility.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${eligibility.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(eligibilityConcurrencyLimit, objectMapper, retryAfterSeconds));
+        registration.addUrlPatterns(LIMITED_PATH);
+        // async dispatch of an admitted request passes through, its sample is taken once the async processing completes
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
@@ -0,0 +1,115 @@
+package cz.csas.eligibility.config.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.exceptions.ErrorResponses;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+
+/**
+ * Admits requests up to the adaptive concurrency limit and rejects the others immediately with 503 and Retry-After,
+ * instead of letting them wait in the server queue until the callers time out.
+ * Registered after the REST audit filter, so rejected requests are audited too, but their latency is not measured.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter implements Filter {
+
+    static final String REJECTION_MESSAGE = "Too many concurrent requests, retry later";
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit concurrencyLimit, ObjectMapper objectMapper, int retryAfterSeconds) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // async dispatch of a request admitted (and measured) by its original dispatch
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        int inFlight = concurrencyLimit.tryAcquire();
+        if (inFlight == 0) {
+            reject(httpRequest, httpResponse);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean asyncStarted = false;
+        try {
+            chain.doFilter(request, response);
+            asyncStarted = request.isAsyncStarted();
+        } finally {
+            if (asyncStarted) {
+                // the request stays in flight until its async processing is finished
+                request.getAsyncContext().addListener(new SampleListener(httpResponse, inFlight, start));
+            } else {
+                concurrencyLimit.onSample(System.nanoTime() - start, inFlight, isFailed(httpResponse));
+            }
+        }
+    }
+
+    // client errors (400) say nothing about overload; server errors are mostly failed downstream calls
+    private static boolean isFailed(HttpServletResponse response) {
+        return response.getStatus() >= 500;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("Request {} rejected, concurrency limit {} reached", request.getRequestURI(), concurrencyLimit.getLimit());
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        ErrorResponses.writeRejection(request, response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE, REJECTION_MESSAGE);
+    }
+
+    /**
+     * Completes the sample of an async request; timeouts and errors count as failures.
+     */
+    private final class SampleListener implements AsyncListener {
+
+        private final HttpServletResponse response;
+        private final int inFlight;
+        private final long start;
+        private volatile boolean failed;
+
+        private SampleListener(HttpServletResponse response, int inFlight, long start) {
+            this.response = response;
+            this.inFlight = inFlight;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimit.onSample(System.nanoTime() - start, inFlight, failed || isFailed(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package cz.csas.eligibility.config.datasource;
+
+import java.util.Locale;
+
+/**
+ * Connection pools of the application database. Each pool has its own Hikari sizing and timeouts (db.pools.{name}.*),
+ * so that a backlog of one workload cannot take all connections of the others.
+ */
+public enum DataSourcePool {
+
+    /**
+     * audit log ingestion (audit log writers, rollups)
+     */
+    AUDIT,
+
+    /**
+     * eligibility result writes; also used by everything not routed to another pool (e.g. Flyway migrations)
+     */
+    ELIGIBILITY,
+
+    /**
+     * read-only reporting queries and exports
+     */
+    REPORTING;
+
+    /**
+     * @return name of the pool in properties (db.pools.{name}) and in Hikari pool name / JMX
+     */
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
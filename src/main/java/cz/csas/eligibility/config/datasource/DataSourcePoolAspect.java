@@ -0,0 +1,46 @@
+package cz.csas.eligibility.config.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Selects the connection pool of @UseDataSourcePool beans/methods for the duration of the call.
+ * Runs before the transaction interceptor, so the transaction acquires its connection from the selected pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourcePoolAspect {
+
+    @Around("@within(cz.csas.eligibility.config.datasource.UseDataSourcePool) "
+            + "|| @annotation(cz.csas.eligibility.config.datasource.UseDataSourcePool)")
+    public Object routeToPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourcePool previous = DataSourcePoolRouting.current();
+        DataSourcePoolRouting.select(resolvePool(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourcePoolRouting.select(previous);
+        }
+    }
+
+    private static DataSourcePool resolvePool(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        // signature may point to the interface method while the annotation is on the implementation
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        UseDataSourcePool annotation = AnnotatedElementUtils.findMergedAnnotation(method, UseDataSourcePool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, UseDataSourcePool.class);
+        }
+        return annotation.value();
+    }
+}
@@ -0,0 +1,90 @@
+package cz.csas.eligibility.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import cz.csas.eligibility.dto.DataSourcePoolStatsDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource handing out connections from the pool selected for the current thread by @UseDataSourcePool
+ * (default pool when none is selected).
+ */
+public class DataSourcePoolRouting extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final ThreadLocal<DataSourcePool> CURRENT = new ThreadLocal<>();
+
+    private final Map<DataSourcePool, HikariDataSource> pools;
+
+    public DataSourcePoolRouting(Map<DataSourcePool, HikariDataSource> pools, DataSourcePool defaultPool) {
+        this.pools = Collections.unmodifiableMap(pools);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(defaultPool));
+        // unknown keys are not expected - do not fall back to the default pool silently
+        setLenientFallback(false);
+    }
+
+    /**
+     * @return pool selected for the current thread, null if none
+     */
+    public static DataSourcePool current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Selects pool for the current thread.
+     * @param pool selected pool, null to clear the selection
+     */
+    static void select(DataSourcePool pool) {
+        if (pool == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(pool);
+        }
+    }
+
+    /**
+     * @return Hikari pool of given name
+     */
+    public HikariDataSource getPool(DataSourcePool pool) {
+        return pools.get(pool);
+    }
+
+    /**
+     * @return current connection counts of all pools (zero for pools that have not been used yet)
+     */
+    public List<DataSourcePoolStatsDto> getStats() {
+        return pools.entrySet().stream()
+                .map(entry -> stats(entry.getKey().propertyName(), entry.getValue()))
+                .toList();
+    }
+
+    static DataSourcePoolStatsDto stats(String name, HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new DataSourcePoolStatsDto(
+                name,
+                dataSource.getPoolName(),
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getIdleConnections() : 0,
+                pool != null ? pool.getTotalConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                dataSource.getMaximumPoolSize(),
+                dataSource.getMinimumIdle(),
+                dataSource.getConnectionTimeout());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
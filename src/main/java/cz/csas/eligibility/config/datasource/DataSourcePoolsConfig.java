@@ -0,0 +1,90 @@
+package cz.csas.eligibility.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Creates a Hikari pool for every DataSourcePool, the optional replica pool and the DataSource used by JPA, JdbcTemplate
+ * and Flyway. All pools share spring.datasource.hikari.*; db.pools.{name}.* overrides them per pool (e.g. maximum-pool-size,
+ * minimum-idle, connection-timeout). Primary pools connect with spring.datasource.*, the replica with db.replica.*.
+ */
+@Configuration
+public class DataSourcePoolsConfig {
+
+    static final String POOLS_PREFIX = "db.pools.";
+    static final String REPLICA_POOL = "replica";
+
+    @Bean
+    public DataSourcePoolRouting dataSourcePoolRouting(DataSourceProperties dataSourceProperties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<DataSourcePool, HikariDataSource> pools = new EnumMap<>(DataSourcePool.class);
+        for (DataSourcePool pool : DataSourcePool.values()) {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            pools.put(pool, configurePool(dataSource, binder, pool.propertyName()));
+        }
+        return new DataSourcePoolRouting(pools, DataSourcePool.ELIGIBILITY);
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(
+            DataSourceProperties dataSourceProperties,
+            Environment environment,
+            DataSourcePoolRouting dataSourcePoolRouting,
+            //replica connection and lag threshold are defined in application.properties; no replica if url is empty
+            @Value("${db.replica.url:}") String url,
+            @Value("${db.replica.username:}") String username,
+            @Value("${db.replica.password:}") String password,
+            @Value("${db.replica.max-lag-ms:5000}") long maxLagMs,
+            @Value("${db.replica.lag-query:}") String lagQuery) {
+        HikariDataSource replica = null;
+        if (!url.isBlank()) {
+            replica = new HikariDataSource();
+            replica.setJdbcUrl(url);
+            replica.setUsername(username.isBlank() ? dataSourceProperties.determineUsername() : username);
+            replica.setPassword(password.isBlank() ? dataSourceProperties.determinePassword() : password);
+            configurePool(replica, Binder.get(environment), REPLICA_POOL);
+            // replica is read by read-only transactions only
+            replica.setReadOnly(true);
+        }
+        return new ReplicaDataSource(replica, dataSourcePoolRouting, maxLagMs,
+                lagQuery.isBlank() ? ReplicaDataSource.POSTGRES_LAG_QUERY : lagQuery);
+    }
+
+    /**
+     * Connections are acquired on the first statement, after the transaction has marked them read-only - read-only
+     * transactions then take them from the replica (while it is available), other work from the selected primary pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourcePoolRouting dataSourcePoolRouting, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(dataSourcePoolRouting);
+        if (replicaDataSource.isConfigured()) {
+            dataSource.setReadOnlyDataSource(replicaDataSource);
+        }
+        // Hikari and PostgreSQL/H2 defaults, set here so that the proxy does not open a connection to detect them
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    private static HikariDataSource configurePool(HikariDataSource dataSource, Binder binder, String name) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind(POOLS_PREFIX + name, Bindable.ofInstance(dataSource));
+        // pool name distinguishes the pools in logs and in JMX (spring.datasource.hikari.register-mbeans)
+        dataSource.setPoolName(name + "-pool");
+        return dataSource;
+    }
+}
@@ -0,0 +1,147 @@
+package cz.csas.eligibility.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import cz.csas.eligibility.dto.DataSourcePoolStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Optional;
+
+/**
+ * DataSource of read-only transactions: connections come from the replica pool while the replica is up and its replication
+ * lag is within the threshold, otherwise from the primary (the pool selected by @UseDataSourcePool).
+ * Lag is checked periodically by the lag query; a replica that fails to hand out a connection is not used until the next
+ * successful check.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    /**
+     * Replication lag of a PostgreSQL standby in milliseconds: 0 when all received WAL has been replayed (an idle primary
+     * does not look like lag), NULL (= unknown, replica not used) when nothing has been replayed yet.
+     */
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource replica;
+    private final DataSource primary;
+    private final long maxLagMs;
+    private final String lagQuery;
+    // replica is not used until the first check confirms it is up to date
+    private volatile boolean available;
+
+    /**
+     * @param replica replica pool, null if no replica is configured (all connections come from the primary)
+     * @param primary DataSource of the primary database
+     * @param maxLagMs replica is not used while its lag exceeds this value
+     * @param lagQuery query returning the replica lag in milliseconds (one row, one numeric column)
+     */
+    public ReplicaDataSource(HikariDataSource replica, DataSource primary, long maxLagMs, String lagQuery) {
+        this.replica = replica;
+        this.primary = primary;
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+    }
+
+    /**
+     * @return true if a replica is configured
+     */
+    public boolean isConfigured() {
+        return replica != null;
+    }
+
+    /**
+     * @return true if read-only transactions are currently served by the replica
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * @return replica pool, null if no replica is configured
+     */
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * @return current connection counts of the replica pool, empty if no replica is configured
+     */
+    public Optional<DataSourcePoolStatsDto> getStats() {
+        return Optional.ofNullable(replica).map(pool -> DataSourcePoolRouting.stats(DataSourcePoolsConfig.REPLICA_POOL, pool));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (available) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markUnavailable("replica connection failed: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are taken from the pools with configured credentials");
+    }
+
+    /**
+     * Measures the replica lag and decides whether read-only transactions use the replica.
+     */
+    @Scheduled(fixedDelayString = "${db.replica.check-interval-ms:1000}")
+    public void checkReplica() {
+        if (replica == null) {
+            return;
+        }
+        Long lagMs;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                lagMs = rs.next() ? rs.getObject(1, Long.class) : null;
+            }
+        } catch (SQLException e) {
+            markUnavailable("lag check failed: " + e.getMessage());
+            return;
+        }
+
+        if (lagMs == null) {
+            markUnavailable("replication lag is unknown");
+        } else if (lagMs > maxLagMs) {
+            markUnavailable("replication lag " + lagMs + " ms exceeds " + maxLagMs + " ms");
+        } else if (!available) {
+            available = true;
+            log.info("Read-only transactions are served by the replica (replication lag {} ms)", lagMs);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    private void markUnavailable(String reason) {
+        if (available) {
+            log.warn("Read-only transactions fall back to the primary database, {}", reason);
+        } else {
+            log.debug("Replica is not used, {}", reason);
+        }
+        available = false;
+    }
+}
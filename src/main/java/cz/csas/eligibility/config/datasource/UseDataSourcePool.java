@@ -0,0 +1,20 @@
+package cz.csas.eligibility.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Routes database work of the annotated bean (or method, which takes precedence over its class) to given connection pool.
+ * The pool is chosen when a connection is acquired, i.e. when a transaction starts - a call joining an already running
+ * transaction keeps using the connection of that transaction.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UseDataSourcePool {
+
+    DataSourcePool value();
+}
@@ -0,0 +1,36 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.filter.OrderedFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per caller and per client rate limiting of GET /api/v1/eligibility (see RateLimiter).
+ */
+@Configuration
+public class RateLimitConfig {
+
+    static final String LIMITED_PATH = "/api/v1/eligibility";
+
+    /**
+     * Runs after the request context is bound (rejections are written into the audit context) and before the concurrency limit.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimits rateLimits,
+            ObjectMapper objectMapper,
+            //switch of the rate limiting is defined in application.properties
+            @Value("${eligibility.rate-limit.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(rateLimits, objectMapper));
+        registration.addUrlPatterns(LIMITED_PATH);
+        // async dispatch of a request which has taken its tokens passes through without taking more
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(OrderedFilter.REQUEST_WRAPPER_FILTER_MAX_ORDER - 1);
+        registration.setEnabled(enabled && !rateLimits.getLimiters().isEmpty());
+        return registration;
+    }
+}
@@ -0,0 +1,93 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.exceptions.ErrorResponses;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over the rate limit of their caller or client with 429 and Retry-After. Every response carries
+ * RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset headers of the most exhausted bucket of the request.
+ * A token taken from a bucket of one key class is not returned when the request is rejected by the next one.
+ * Runs before the concurrency limit, so that rate limited requests do not take its slots.
+ */
+@Slf4j
+public class RateLimitFilter implements Filter {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+    static final String REJECTION_MESSAGE = "Rate limit exceeded, retry later";
+
+    private final List<RateLimiter> limiters;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimits rateLimits, ObjectMapper objectMapper) {
+        this.limiters = rateLimits.getLimiters();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // async dispatch of a request which has already taken its tokens
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        long now = System.nanoTime();
+        RateLimiter.Decision mostExhausted = null;
+        for (RateLimiter limiter : limiters) {
+            String key = limiter.getKeyClass().key(httpRequest);
+            if (key == null) {
+                continue;
+            }
+            RateLimiter.Decision decision = limiter.tryAcquire(key, now);
+            if (!decision.allowed()) {
+                reject(httpRequest, httpResponse, limiter, decision);
+                return;
+            }
+            if (mostExhausted == null || decision.remaining() < mostExhausted.remaining()) {
+                mostExhausted = decision;
+            }
+        }
+        if (mostExhausted != null) {
+            setHeaders(httpResponse, mostExhausted);
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimiter limiter,
+                        RateLimiter.Decision decision) throws IOException {
+        log.debug("Request {} rejected, rate limit of {} exceeded", request.getRequestURI(), limiter.getKeyClass().propertyName());
+
+        setHeaders(response, decision);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSecondsRoundedUp(decision.retryAfterNanos())));
+        ErrorResponses.writeRejection(request, response, objectMapper, HttpStatus.TOO_MANY_REQUESTS, REJECTION_MESSAGE);
+    }
+
+    private static void setHeaders(HttpServletResponse response, RateLimiter.Decision decision) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSecondsRoundedUp(decision.resetNanos())));
+    }
+
+    // headers carry whole seconds; rounding down could tell the caller to retry too early
+    private static long toSecondsRoundedUp(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,44 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+
+/**
+ * Classes of keys requests are rate limited by. Each class has its own rate and burst (eligibility.rate-limit.{name}.*);
+ * a request has to pass the limits of all classes.
+ */
+public enum RateLimitKey {
+
+    /**
+     * calling application - remote address (requests are not authenticated, so no header sent by the caller is trusted)
+     */
+    CALLER {
+        @Override
+        public String key(HttpServletRequest request) {
+            return request.getRemoteAddr();
+        }
+    },
+
+    /**
+     * evaluated client - clientId header (requests without it are rejected by the controller anyway)
+     */
+    CLIENT {
+        @Override
+        public String key(HttpServletRequest request) {
+            return request.getHeader("clientId");
+        }
+    };
+
+    /**
+     * @return key of the request in this class, null if the request has none (not limited by this class)
+     */
+    public abstract String key(HttpServletRequest request);
+
+    /**
+     * @return name of the key class in properties (eligibility.rate-limit.{name}) and in statistics
+     */
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
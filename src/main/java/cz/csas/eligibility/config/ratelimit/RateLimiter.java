@@ -0,0 +1,170 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import cz.csas.eligibility.dto.RateLimitStatsDto;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets of one key class, implemented as GCRA (generic cell rate algorithm): the state of a bucket is a single
+ * long - the time at which the bucket is full again (theoretical arrival time, TAT). A request takes a token by moving
+ * TAT one emission interval (1/rate) forward with a compare-and-set; it is rejected when TAT would get further than
+ * burst intervals ahead of now. This is equivalent to a bucket of burst tokens refilled at rate tokens per second,
+ * without locks and without a refill timer.
+ * A bucket whose TAT has passed is full, i.e. the same as a missing one, so idle buckets are removed by evictIdle()
+ * without changing any limit. To keep memory bounded, at most maxKeys buckets are kept: a new key over the limit triggers
+ * an early eviction of idle buckets (at most once per second); if none is idle, the key is admitted without a bucket
+ * (fail open), so keys of one sender cannot exhaust a limit shared with unrelated keys.
+ */
+public class RateLimiter {
+
+    // TAT of a bucket removed from the map; a request which finds it looks the key up again
+    private static final long EVICTED = Long.MIN_VALUE;
+    private static final long OVERFLOW_EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitKey keyClass;
+    private final double ratePerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // earliest time of the next eviction triggered by a key over maxKeys
+    private final AtomicLong nextOverflowEviction;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * @param keyClass key class of the buckets
+     * @param ratePerSecond sustained requests per second of one key
+     * @param burst requests of one key admitted at once (bucket capacity)
+     * @param maxKeys buckets kept at most
+     */
+    public RateLimiter(RateLimitKey keyClass, double ratePerSecond, int burst, int maxKeys) {
+        if (ratePerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Invalid rate limit of " + keyClass.propertyName());
+        }
+        this.keyClass = keyClass;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+        this.nextOverflowEviction = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a token from the bucket of the key.
+     * @param key key of the request
+     * @param nowNanos current System.nanoTime()
+     * @return decision with values of the rate limit headers
+     */
+    public Decision tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = bucket(key, nowNanos);
+        while (true) {
+            if (bucket == null) {
+                // no room for the bucket of the key - admitted as if its bucket were full
+                overflowed.increment();
+                allowed.increment();
+                return new Decision(true, burst, burst - 1, intervalNanos, 0);
+            }
+            long tat = bucket.get();
+            if (tat == EVICTED) {
+                // evicted in the meantime - the key starts with a full bucket again
+                buckets.remove(key, bucket);
+                bucket = bucket(key, nowNanos);
+                continue;
+            }
+            long newTat = (tat - nowNanos > 0 ? tat : nowNanos) + intervalNanos;
+            long ahead = newTat - nowNanos;
+            if (ahead > burstNanos) {
+                rejected.increment();
+                return new Decision(false, burst, 0, tat - nowNanos, ahead - burstNanos);
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                allowed.increment();
+                return new Decision(true, burst, (int) ((burstNanos - ahead) / intervalNanos), ahead, 0);
+            }
+        }
+    }
+
+    /**
+     * @return bucket of the key, null if maxKeys buckets are tracked and none of them is idle
+     */
+    private AtomicLong bucket(String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys && !(evictOnOverflow(nowNanos) && buckets.size() < maxKeys)) {
+            return null;
+        }
+        AtomicLong created = new AtomicLong(nowNanos);
+        AtomicLong existing = buckets.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    // one thread per interval scans the buckets, the others do not wait for it
+    private boolean evictOnOverflow(long nowNanos) {
+        long next = nextOverflowEviction.get();
+        if (nowNanos - next < 0 || !nextOverflowEviction.compareAndSet(next, nowNanos + OVERFLOW_EVICTION_INTERVAL_NANOS)) {
+            return false;
+        }
+        return evictIdle(nowNanos) > 0;
+    }
+
+    /**
+     * Removes full buckets (no request of the key for at least burst / rate seconds).
+     * @return number of removed buckets
+     */
+    public int evictIdle(long nowNanos) {
+        int removed = 0;
+        for (var entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long tat = bucket.get();
+            // a bucket changed by a request in the meantime is not full any more and stays
+            if (tat != EVICTED && tat - nowNanos <= 0 && bucket.compareAndSet(tat, EVICTED)) {
+                buckets.remove(entry.getKey(), bucket);
+                removed++;
+            }
+        }
+        evicted.add(removed);
+        return removed;
+    }
+
+    public RateLimitKey getKeyClass() {
+        return keyClass;
+    }
+
+    /**
+     * @return limits, number of tracked keys and counters since start
+     */
+    public RateLimitStatsDto getStats() {
+        return new RateLimitStatsDto(
+                keyClass.propertyName(),
+                ratePerSecond,
+                burst,
+                buckets.size(),
+                maxKeys,
+                allowed.sum(),
+                rejected.sum(),
+                overflowed.sum(),
+                evicted.sum());
+    }
+
+    /**
+     * @param allowed true if the request took a token
+     * @param limit capacity of the bucket
+     * @param remaining tokens left in the bucket
+     * @param resetNanos time until the bucket is full again
+     * @param retryAfterNanos time until the next token is available (0 if allowed)
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,66 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import cz.csas.eligibility.dto.RateLimitStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limiters of GET /api/v1/eligibility, one per key class with rate-per-second and burst taken from
+ * eligibility.rate-limit.{name}.* (key classes with rate 0 are not limited).
+ */
+@Component
+@Slf4j
+public class RateLimits {
+
+    static final String PROPERTIES_PREFIX = "eligibility.rate-limit.";
+
+    private final List<RateLimiter> limiters;
+
+    public RateLimits(Environment environment,
+                      //buckets kept per key class are defined in application.properties
+                      @Value("${eligibility.rate-limit.max-keys:100000}") int maxKeys) {
+        Binder binder = Binder.get(environment);
+        List<RateLimiter> configured = new ArrayList<>();
+        for (RateLimitKey keyClass : RateLimitKey.values()) {
+            String prefix = PROPERTIES_PREFIX + keyClass.propertyName();
+            double ratePerSecond = binder.bind(prefix + ".rate-per-second", Double.class).orElse(0.0);
+            if (ratePerSecond > 0) {
+                int burst = binder.bind(prefix + ".burst", Integer.class).orElse((int) Math.ceil(ratePerSecond));
+                configured.add(new RateLimiter(keyClass, ratePerSecond, burst, maxKeys));
+            }
+        }
+        this.limiters = List.copyOf(configured);
+    }
+
+    /**
+     * @return limiters of the key classes with a configured rate
+     */
+    public List<RateLimiter> getLimiters() {
+        return limiters;
+    }
+
+    /**
+     * Removes idle (full) buckets, so that memory holds only keys with recent requests.
+     */
+    @Scheduled(fixedDelayString = "${eligibility.rate-limit.eviction-interval-ms:10000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (RateLimiter limiter : limiters) {
+            int removed = limiter.evictIdle(now);
+            if (removed > 0) {
+                log.debug("Evicted {} idle rate limit buckets of {}", removed, limiter.getKeyClass().propertyName());
+            }
+        }
+    }
+
+    public List<RateLimitStatsDto> getStats() {
+        return limiters.stream().map(RateLimiter::getStats).toList();
+    }
+}
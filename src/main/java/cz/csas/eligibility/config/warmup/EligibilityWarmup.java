@@ -0,0 +1,183 @@
+package cz.csas.eligibility.config.warmup;
+
+import cz.csas.eligibility.api_accounts.api.AccountsServerApi;
+import cz.csas.eligibility.api_clients.api.ClientsServerApi;
+import cz.csas.eligibility.config.cache.ClientCacheRegistry;
+import cz.csas.eligibility.dto.EligibilityWarmupStatusDto;
+import cz.csas.eligibility.service.EligibilityService;
+import cz.csas.eligibility.utils.SyntheticEvaluation;
+import cz.csas.eligibility.utils.TimeOrderedUuid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional warm-up after a deployment, so that the first requests do not pay for cold JIT, Hibernate statement
+ * preparation, Jackson (de)serializers and TLS handshakes to the downstream servers:
+ * synthetic evaluations (SyntheticEvaluation) are run through EligibilityService, with the downstream calls answered
+ * by stub responses (WarmupStubInterceptor) and results neither written to the eligibility table nor counted in the
+ * outcome stats; then a connection is opened to each downstream host.
+ * Runs before the application becomes ready (ApplicationRunner, before the cache warm-up, which then reuses
+ * the connections), until both steps are done or the timeout expires. A failing warm-up never prevents the start.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EligibilityWarmup implements ApplicationRunner {
+
+    static final String CORRELATION_ID_PREFIX = "eligibility-warmup-";
+    static final String CLIENT_ID_PREFIX = "warmup-";
+
+    private static final long CONNECT_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    enum State { DISABLED, RUNNING, COMPLETED, TIMED_OUT }
+
+    private final EligibilityService eligibilityService;
+    private final ClientCacheRegistry clientCacheRegistry;
+    private final ClientHttpRequestFactory externalApiRequestFactory;
+    private final AccountsServerApi accountsServerApi;
+    private final ClientsServerApi clientsServerApi;
+    private final boolean enabled;
+    private final int iterations;
+    private final long timeoutMs;
+
+    private final AtomicInteger evaluated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile State state = State.DISABLED;
+    private volatile int connectedHosts;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public EligibilityWarmup(
+            EligibilityService eligibilityService,
+            ClientCacheRegistry clientCacheRegistry,
+            //the factory of the downstream RestTemplate without its interceptors (connections are opened unaudited)
+            ClientHttpRequestFactory externalApiRequestFactory,
+            AccountsServerApi accountsServerApi,
+            ClientsServerApi clientsServerApi,
+            //number of synthetic evaluations and readiness timeout are defined in application.properties
+            @Value("${eligibility.warmup.enabled:false}") boolean enabled,
+            @Value("${eligibility.warmup.iterations:500}") int iterations,
+            @Value("${eligibility.warmup.timeout-ms:30000}") long timeoutMs) {
+        this.eligibilityService = eligibilityService;
+        this.clientCacheRegistry = clientCacheRegistry;
+        this.externalApiRequestFactory = externalApiRequestFactory;
+        this.accountsServerApi = accountsServerApi;
+        this.clientsServerApi = clientsServerApi;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            warmUp();
+        } catch (Exception e) {
+            log.error("Eligibility warm-up failed, starting cold", e);
+            finish(State.COMPLETED);
+        }
+    }
+
+    /**
+     * @return progress of the warm-up
+     */
+    public EligibilityWarmupStatusDto getStatus() {
+        long elapsed = state == State.DISABLED ? 0
+                : (state == State.RUNNING ? System.currentTimeMillis() : finishedAt) - startedAt;
+        return new EligibilityWarmupStatusDto(state.name(), iterations, evaluated.get(), failed.get(),
+                downstreamHosts().size(), connectedHosts, elapsed);
+    }
+
+    void warmUp() {
+        startedAt = System.currentTimeMillis();
+        state = State.RUNNING;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        log.info("Eligibility warm-up of {} synthetic evaluations started", iterations);
+
+        for (int i = 0; i < iterations && System.nanoTime() - deadline < 0; i++) {
+            evaluate(CLIENT_ID_PREFIX + i);
+        }
+        connectedHosts = openConnections(deadline);
+
+        boolean done = evaluated.get() + failed.get() == iterations && connectedHosts == downstreamHosts().size();
+        finish(done ? State.COMPLETED : State.TIMED_OUT);
+        log.info("Eligibility warm-up {}: {} of {} synthetic evaluations ({} failed), {} of {} downstream hosts connected in {} ms",
+                state, evaluated.get(), iterations, failed.get(), connectedHosts, downstreamHosts().size(), finishedAt - startedAt);
+    }
+
+    private void evaluate(String clientId) {
+        String correlationId = CORRELATION_ID_PREFIX + TimeOrderedUuid.nextString();
+        try {
+            SyntheticEvaluation.run(() -> eligibilityService.evaluateEligibility(clientId, correlationId));
+            evaluated.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.debug("Synthetic evaluation {} failed: {}", correlationId, e.getMessage());
+        } finally {
+            // stub responses must not be served to real requests
+            clientCacheRegistry.evict(clientId);
+        }
+    }
+
+    /**
+     * Opens a connection to every downstream host (retried until the deadline); the response status does not matter.
+     * @return number of connected hosts
+     */
+    int openConnections(long deadline) {
+        List<URI> hosts = downstreamHosts();
+        List<URI> pending = new ArrayList<>(hosts);
+        while (true) {
+            pending.removeIf(this::connect);
+            if (pending.isEmpty() || System.nanoTime() - deadline >= 0) {
+                return hosts.size() - pending.size();
+            }
+            LockSupport.parkNanos(CONNECT_RETRY_NANOS);
+        }
+    }
+
+    private boolean connect(URI host) {
+        try (ClientHttpResponse response = externalApiRequestFactory.createRequest(host, HttpMethod.HEAD).execute()) {
+            log.debug("Connection to {} opened, HTTP {}", host, response.getStatusCode().value());
+            return true;
+        } catch (IOException e) {
+            log.debug("Connection to {} failed: {}", host, e.getMessage());
+            return false;
+        }
+    }
+
+    private List<URI> downstreamHosts() {
+        return List.of(
+                hostOf(accountsServerApi.getApiClient().getBasePath()),
+                hostOf(clientsServerApi.getApiClient().getBasePath()));
+    }
+
+    // base paths of the generated ApiClients may end with an empty port
+    private static URI hostOf(String basePath) {
+        URI uri = URI.create(basePath);
+        return URI.create(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : "") + "/");
+    }
+
+    private void finish(State finalState) {
+        finishedAt = System.currentTimeMillis();
+        state = finalState;
+    }
+}
@@ -0,0 +1,88 @@
+package cz.csas.eligibility.config.warmup;
+
+import cz.csas.eligibility.config.ExternalApi;
+import cz.csas.eligibility.utils.SyntheticEvaluation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Answers downstream calls of synthetic warm-up evaluations (see SyntheticEvaluation) with the configured stub responses,
+ * so they never reach the downstream APIs. Registered as the first interceptor, so the stubbed calls are not audited
+ * either. Calls of real requests are passed through.
+ */
+@Component
+public class WarmupStubInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Map<ExternalApi, byte[]> stubs = new EnumMap<>(ExternalApi.class);
+
+    public WarmupStubInterceptor(
+            //stub responses of the downstream APIs are defined in application.properties
+            @Value("${eligibility.warmup.stub.accounts-response:classpath:warmup/accounts-response.json}") Resource accountsResponse,
+            @Value("${eligibility.warmup.stub.clients-response:classpath:warmup/clients-response.json}") Resource clientsResponse)
+            throws IOException {
+        stubs.put(ExternalApi.ACCOUNTS, accountsResponse.getContentAsByteArray());
+        stubs.put(ExternalApi.CLIENTS, clientsResponse.getContentAsByteArray());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!SyntheticEvaluation.isActive()) {
+            return execution.execute(request, body);
+        }
+        String host = request.getURI().getHost();
+        ExternalApi api = ExternalApi.ofHost(host)
+                .orElseThrow(() -> new IOException("No warm-up stub response of host " + host));
+        return new StubResponse(stubs.get(api));
+    }
+
+    private static final class StubResponse implements ClientHttpResponse {
+
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private StubResponse(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
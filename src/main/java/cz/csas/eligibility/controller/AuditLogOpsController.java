@@ -0,0 +1,103 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.dto.AuditLogExportFormat;
+import cz.csas.eligibility.dto.AuditRollupDto;
+import cz.csas.eligibility.dto.CursorPageDto;
+import cz.csas.eligibility.dto.FailedRequestDto;
+import cz.csas.eligibility.exceptions.InvalidRequestParameterException;
+import cz.csas.eligibility.service.AuditLogExportService;
+import cz.csas.eligibility.service.AuditLogReportingService;
+import cz.csas.eligibility.service.AuditRollupService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Operational endpoints over stored audit logs (internal, not part of the public API definition).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ops/audit-logs")
+public class AuditLogOpsController {
+
+    private final AuditLogExportService auditLogExportService;
+    private final AuditLogReportingService auditLogReportingService;
+    private final AuditRollupService auditRollupService;
+
+    @GetMapping("/failed")
+    public CursorPageDto<FailedRequestDto> getFailedRequests(
+            @RequestParam(value = "apiName", required = false) String apiName,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return auditLogReportingService.getFailedRequests(apiName, from, to, cursor, limit);
+    }
+
+    /**
+     * Returns call counts, error rates and latency percentiles from per-minute rollups (the raw audit_logs table is not scanned).
+     */
+    @GetMapping("/rollups")
+    public List<AuditRollupDto> getRollups(
+            @RequestParam(value = "apiName", required = false) String apiName,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "bucketMinutes", defaultValue = "1") int bucketMinutes) {
+        return auditRollupService.getRollups(apiName, from, to, bucketMinutes);
+    }
+
+    /**
+     * Streams audit logs of given API created in [from, to) directly to the response body - the whole export is never held in memory.
+     */
+    @GetMapping("/export")
+    public void export(
+            @RequestParam("apiName") String apiName,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestParameterException("Parameter 'from' must be before 'to'");
+        }
+        AuditLogExportFormat exportFormat = parseFormat(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                attachment("audit-logs-" + apiName + "." + exportFormat.getFileExtension()).toString());
+
+        auditLogExportService.export(apiName, from, to, exportFormat, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    // apiName is not validated - quotes are escaped, non-ASCII names are sent encoded (filename*, RFC 5987)
+    private static ContentDisposition attachment(String fileName) {
+        ContentDisposition.Builder builder = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)) {
+            builder.filename(fileName);
+        } else {
+            builder.filename(fileName, StandardCharsets.UTF_8);
+        }
+        return builder.build();
+    }
+
+    private static AuditLogExportFormat parseFormat(String format) {
+        try {
+            return AuditLogExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestParameterException("Unsupported export format: " + format, e);
+        }
+    }
+}
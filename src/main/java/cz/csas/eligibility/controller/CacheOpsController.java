@@ -0,0 +1,40 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.cache.CacheInvalidationBus;
+import cz.csas.eligibility.dto.CacheInvalidationStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operational endpoints over the local client caches of all instances (internal, not part of the public API definition).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ops/cache")
+public class CacheOpsController {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * Evicts cached values of the client (of all clients if clientId is missing) on every instance, e.g. after a correction.
+     */
+    @PostMapping("/invalidations")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void invalidate(@RequestParam(value = "clientId", required = false) String clientId) {
+        cacheInvalidationBus.publish(clientId);
+    }
+
+    /**
+     * Returns count and lag (publish to eviction) of invalidations processed by this instance.
+     */
+    @GetMapping("/invalidations/stats")
+    public CacheInvalidationStatsDto getInvalidationStats() {
+        return cacheInvalidationBus.getStats();
+    }
+}
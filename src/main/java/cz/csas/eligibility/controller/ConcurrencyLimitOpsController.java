@@ -0,0 +1,27 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.concurrency.AdaptiveConcurrencyLimit;
+import cz.csas.eligibility.dto.ConcurrencyLimitStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operational view of the adaptive concurrency limit of the eligibility endpoint (internal, not part of the public API definition).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ops/concurrency-limit")
+public class ConcurrencyLimitOpsController {
+
+    private final AdaptiveConcurrencyLimit eligibilityConcurrencyLimit;
+
+    /**
+     * Returns current limit, requests in flight, accepted/rejected/failed request counts and measured latencies of this instance.
+     */
+    @GetMapping
+    public ConcurrencyLimitStatsDto getStats() {
+        return eligibilityConcurrencyLimit.getStats();
+    }
+}
@@ -0,0 +1,35 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.datasource.DataSourcePoolRouting;
+import cz.csas.eligibility.config.datasource.ReplicaDataSource;
+import cz.csas.eligibility.dto.DataSourcePoolStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operational endpoint over database connection pools (internal, not part of the public API definition).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ops/db-pools")
+public class DataSourcePoolOpsController {
+
+    private final DataSourcePoolRouting dataSourcePoolRouting;
+    private final ReplicaDataSource replicaDataSource;
+
+    /**
+     * Returns active/idle/total connections and waiting threads of the audit, eligibility and reporting pools
+     * (and of the replica pool if a replica is configured).
+     */
+    @GetMapping
+    public List<DataSourcePoolStatsDto> getPoolStats() {
+        List<DataSourcePoolStatsDto> stats = new ArrayList<>(dataSourcePoolRouting.getStats());
+        replicaDataSource.getStats().ifPresent(stats::add);
+        return stats;
+    }
+}
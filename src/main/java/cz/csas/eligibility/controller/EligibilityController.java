@@ -1,25 +1,29 @@
 package cz.csas.eligibility.controller;
 
 import cz.csas.eligibility.api_ui.ApplicationServerApi;
+import cz.csas.eligibility.config.EligibilityExecutor;
 import cz.csas.eligibility.model.GetEligibilityResponse;
 import cz.csas.eligibility.service.EligibilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 @RequiredArgsConstructor
 public class EligibilityController implements ApplicationServerApi {
 
     private final EligibilityService eligibilityService;
+    private final EligibilityExecutor eligibilityExecutor;
 
+    // evaluated on the eligibility pool; the Tomcat worker is released while the downstream APIs are called
     @Override
-    public ResponseEntity<GetEligibilityResponse> apiV1EligibilityGet(String clientId, String correlationId) {
-        GetEligibilityResponse response = eligibilityService.evaluateEligibility(clientId, correlationId);
-
-        return ResponseEntity
-                .status(200)
-                .header("correlation-id", correlationId)
-                .body(response);
+    public CompletableFuture<ResponseEntity<GetEligibilityResponse>> apiV1EligibilityGet(String clientId, String correlationId) {
+        return eligibilityExecutor.supplyAsync(() -> eligibilityService.evaluateEligibility(clientId, correlationId))
+                .thenApply(response -> ResponseEntity
+                        .status(200)
+                        .header("correlation-id", correlationId)
+                        .body(response));
     }
 }
@@ -0,0 +1,73 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.dto.CursorPageDto;
+import cz.csas.eligibility.dto.EligibilityOutcomeStatsDto;
+import cz.csas.eligibility.dto.EligibilityRecordDto;
+import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.service.EligibilityReportingService;
+import cz.csas.eligibility.service.EligibilityStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read API over stored eligibility results (internal reporting, not part of the public API definition).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/reporting/eligibility")
+public class EligibilityReportingController {
+
+    private final EligibilityReportingService eligibilityReportingService;
+    private final EligibilityStatsService eligibilityStatsService;
+
+    @GetMapping("/history")
+    public CursorPageDto<EligibilityRecordDto> getHistoryByClientId(
+            @RequestHeader("clientId") String clientId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return eligibilityReportingService.getHistoryByClientId(clientId, cursor, limit);
+    }
+
+    @GetMapping("/by-correlation-id")
+    public CursorPageDto<EligibilityRecordDto> getHistoryByCorrelationId(
+            @RequestHeader("correlation-id") String correlationId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return eligibilityReportingService.getHistoryByCorrelationId(correlationId, cursor, limit);
+    }
+
+    @GetMapping("/by-result/{result}")
+    public CursorPageDto<EligibilityRecordDto> getHistoryByResult(
+            @PathVariable("result") Eligibility.EligibilityResultEnum result,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return eligibilityReportingService.getHistoryByResult(result, cursor, limit);
+    }
+
+    /**
+     * Returns outcome counts by result and reason from hourly counters; defaults to today up to now.
+     */
+    @GetMapping("/stats")
+    public EligibilityOutcomeStatsDto getStats(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return eligibilityStatsService.getStats(
+                from != null ? from : LocalDate.now().atStartOfDay(),
+                to != null ? to : LocalDateTime.now().plusHours(1));
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<EligibilityRecordDto> getLatestResult(@RequestHeader("clientId") String clientId) {
+        return ResponseEntity.of(eligibilityReportingService.getLatestResult(clientId));
+    }
+}
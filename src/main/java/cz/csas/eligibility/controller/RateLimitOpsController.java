@@ -0,0 +1,29 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.ratelimit.RateLimits;
+import cz.csas.eligibility.dto.RateLimitStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Operational view of the per caller and per client rate limits of the eligibility endpoint (internal, not part of the public API definition).
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ops/rate-limits")
+public class RateLimitOpsController {
+
+    private final RateLimits rateLimits;
+
+    /**
+     * Returns limits, tracked keys and allowed/rejected request counts of every key class on this instance.
+     */
+    @GetMapping
+    public List<RateLimitStatsDto> getStats() {
+        return rateLimits.getStats();
+    }
+}
@@ -0,0 +1,37 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.cache.CacheWarmup;
+import cz.csas.eligibility.config.warmup.EligibilityWarmup;
+import cz.csas.eligibility.dto.ReadinessDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Readiness probe of the instance (internal, not part of the public API definition). The instance becomes ready after
+ * the startup, including the optional eligibility and cache warm-ups.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/ops/readiness")
+public class ReadinessController {
+
+    private final ApplicationAvailability applicationAvailability;
+    private final EligibilityWarmup eligibilityWarmup;
+    private final CacheWarmup cacheWarmup;
+
+    /**
+     * Returns 200 when the instance accepts traffic, 503 otherwise (e.g. during the warm-ups).
+     */
+    @GetMapping
+    public ResponseEntity<ReadinessDto> getReadiness() {
+        ReadinessState readiness = applicationAvailability.getReadinessState();
+        HttpStatus status = readiness == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(new ReadinessDto(readiness.name(), eligibilityWarmup.getStatus(), cacheWarmup.getStatus()));
+    }
+}
@@ -0,0 +1,17 @@
+package cz.csas.eligibility.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Supported formats of audit log export.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AuditLogExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+}
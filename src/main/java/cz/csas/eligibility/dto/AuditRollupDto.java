@@ -0,0 +1,19 @@
+package cz.csas.eligibility.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Call statistics of one API in one time bucket, computed from per-minute rollups.
+ * Latency percentiles are approximate (relative error at most 1/16).
+ */
+public record AuditRollupDto(String apiName,
+                             LocalDateTime bucketStart,
+                             long callCount,
+                             long failureCount,
+                             double errorRate,
+                             Double avgLatencyMs,
+                             Long maxLatencyMs,
+                             Long p50LatencyMs,
+                             Long p95LatencyMs,
+                             Long p99LatencyMs) {
+}
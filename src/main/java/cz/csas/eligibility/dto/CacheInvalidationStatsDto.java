@@ -0,0 +1,14 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Cache invalidations processed by this instance and their lag from publishing to eviction.
+ * Lag percentiles are approximate (relative error at most 1/16); lag fields are null before the first invalidation.
+ */
+public record CacheInvalidationStatsDto(boolean listening,
+                                        long receivedInvalidations,
+                                        Long lastLagMs,
+                                        Long p50LagMs,
+                                        Long p95LagMs,
+                                        Long p99LagMs,
+                                        Long maxLagMs) {
+}
@@ -0,0 +1,12 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Progress of the cache warm-up done before the application reports readiness.
+ * State is DISABLED, RUNNING, COMPLETED (warm-set fraction loaded or all clients tried) or TIMED_OUT.
+ */
+public record CacheWarmupStatusDto(String state,
+                                   int clients,
+                                   int loaded,
+                                   int failed,
+                                   long elapsedMs) {
+}
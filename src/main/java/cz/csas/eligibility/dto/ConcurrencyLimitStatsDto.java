@@ -0,0 +1,16 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Adaptive concurrency limit of the eligibility endpoint on this instance. Counters are totals since start;
+ * latencies are null before the first completed request.
+ */
+public record ConcurrencyLimitStatsDto(int limit,
+                                       int minLimit,
+                                       int maxLimit,
+                                       int inFlight,
+                                       long acceptedRequests,
+                                       long rejectedRequests,
+                                       long failedRequests,
+                                       Double lastLatencyMs,
+                                       Double longTermLatencyMs) {
+}
@@ -0,0 +1,12 @@
+package cz.csas.eligibility.dto;
+
+import java.util.List;
+
+/**
+ * One page of keyset-paginated results.
+ *
+ * @param items      records of the page
+ * @param nextCursor cursor for the next page; null if this is the last page
+ */
+public record CursorPageDto<T>(List<T> items, String nextCursor) {
+}
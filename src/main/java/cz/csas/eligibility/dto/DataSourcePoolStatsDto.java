@@ -0,0 +1,15 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Current state of one database connection pool.
+ */
+public record DataSourcePoolStatsDto(String pool,
+                                     String poolName,
+                                     int activeConnections,
+                                     int idleConnections,
+                                     int totalConnections,
+                                     int threadsAwaitingConnection,
+                                     int maximumPoolSize,
+                                     int minimumIdle,
+                                     long connectionTimeoutMs) {
+}
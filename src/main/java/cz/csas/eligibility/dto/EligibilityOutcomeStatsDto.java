@@ -0,0 +1,15 @@
+package cz.csas.eligibility.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Counts of eligibility outcomes in a time range (hour granularity).
+ * Outcome with several reasons is counted once in byResult and once per reason in byReason.
+ */
+public record EligibilityOutcomeStatsDto(LocalDateTime from,
+                                         LocalDateTime to,
+                                         long total,
+                                         Map<String, Long> byResult,
+                                         Map<String, Long> byReason) {
+}
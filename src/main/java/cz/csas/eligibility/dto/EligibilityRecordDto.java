@@ -0,0 +1,24 @@
+package cz.csas.eligibility.dto;
+
+import cz.csas.eligibility.entity.Eligibility;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored result of one eligibility evaluation.
+ */
+public record EligibilityRecordDto(Long id,
+                                   String clientId,
+                                   String correlationId,
+                                   Eligibility.EligibilityResultEnum result,
+                                   LocalDateTime checkedAt) {
+
+    public static EligibilityRecordDto from(Eligibility eligibility) {
+        return new EligibilityRecordDto(
+                eligibility.getId(),
+                eligibility.getClientId(),
+                eligibility.getCorrelationId(),
+                eligibility.getResult(),
+                eligibility.getCheckedAt());
+    }
+}
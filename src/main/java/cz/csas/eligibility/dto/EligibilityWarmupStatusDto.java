@@ -0,0 +1,14 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Progress of the eligibility warm-up (synthetic evaluations and downstream connections) done before the application
+ * reports readiness. State is DISABLED, RUNNING, COMPLETED (all evaluations run and all hosts connected) or TIMED_OUT.
+ */
+public record EligibilityWarmupStatusDto(String state,
+                                         int iterations,
+                                         int evaluated,
+                                         int failed,
+                                         int downstreamHosts,
+                                         int connectedHosts,
+                                         long elapsedMs) {
+}
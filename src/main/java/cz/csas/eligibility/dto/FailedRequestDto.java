@@ -0,0 +1,36 @@
+package cz.csas.eligibility.dto;
+
+import cz.csas.eligibility.entity.AuditLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Failed API call recorded in audit logs (without request/response bodies).
+ */
+public record FailedRequestDto(Long id,
+                               String requestId,
+                               String apiName,
+                               String method,
+                               String url,
+                               Integer responseStatus,
+                               Long executionTimeMs,
+                               String errorMessage,
+                               String exceptionName,
+                               String correlationId,
+                               LocalDateTime createdAt) {
+
+    public static FailedRequestDto from(AuditLog auditLog) {
+        return new FailedRequestDto(
+                auditLog.getId(),
+                auditLog.getRequestId(),
+                auditLog.getApiName(),
+                auditLog.getMethod(),
+                auditLog.getUrl(),
+                auditLog.getResponseStatus(),
+                auditLog.getExecutionTimeMs(),
+                auditLog.getErrorMessage(),
+                auditLog.getExceptionName(),
+                auditLog.getCorrelationId(),
+                auditLog.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Rate limit of one key class (caller, client) on this instance. Counters are totals since start; overflowedRequests
+ * were admitted without a bucket because maxKeys buckets were already tracked and none of them was idle.
+ */
+public record RateLimitStatsDto(String keyClass,
+                                double ratePerSecond,
+                                int burst,
+                                int trackedKeys,
+                                int maxKeys,
+                                long allowedRequests,
+                                long rejectedRequests,
+                                long overflowedRequests,
+                                long evictedBuckets) {
+}
@@ -0,0 +1,9 @@
+package cz.csas.eligibility.dto;
+
+/**
+ * Readiness of the application instance to take traffic.
+ */
+public record ReadinessDto(String readiness,
+                           EligibilityWarmupStatusDto eligibilityWarmup,
+                           CacheWarmupStatusDto cacheWarmup) {
+}
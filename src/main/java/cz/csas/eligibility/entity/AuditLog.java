@@ -2,7 +2,9 @@ package cz.csas.eligibility.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -33,7 +35,9 @@ public class AuditLog {
     @Column(name = "url", nullable = false, columnDefinition = "TEXT")
     private String url;
 
-    @Column(name = "request_headers", columnDefinition = "TEXT")
+    // JSON object of allowlisted headers (see AuditHeaderCapture); JSONB on PostgreSQL (the dialect type of JSON)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "request_headers")
     private String requestHeaders;
 
     @Column(name = "request_body", columnDefinition = "TEXT")
@@ -42,12 +46,20 @@ public class AuditLog {
     @Column(name = "response_status")
     private Integer responseStatus;
 
-    @Column(name = "response_headers", columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "response_headers")
     private String responseHeaders;
 
     @Column(name = "response_body", columnDefinition = "TEXT")
     private String responseBody;
 
+    // body bytes read by the caller (uncompressed) and bytes read from the connection if the response was gzip compressed
+    @Column(name = "response_size_bytes")
+    private Long responseSizeBytes;
+
+    @Column(name = "response_compressed_size_bytes")
+    private Long responseCompressedSizeBytes;
+
     @Column(name = "execution_time_ms")
     private Long executionTimeMs;
 
@@ -0,0 +1,48 @@
+package cz.csas.eligibility.exceptions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.config.auditlogs.AuditContext;
+import cz.csas.eligibility.model.ErrorDto;
+import cz.csas.eligibility.utils.DateUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Error bodies of the REST API, shared by the exception handler and by filters rejecting requests before the controller.
+ */
+public class ErrorResponses {
+
+    /**
+     * @return ErrorDto with given status, current time and message
+     */
+    public static ErrorDto errorDto(HttpStatus status, String message) {
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setErrorStatusValue(status.value());
+        errorDto.setErrorStatus(status.name());
+        errorDto.setErrorTime(DateUtils.convertToSystemOffsetDateTime(LocalDateTime.now()));
+        errorDto.setErrorMessage(message);
+        return errorDto;
+    }
+
+    /**
+     * Writes ErrorDto of a request rejected by a filter (correlation-id of the request is returned back) and hands
+     * the message over to the REST audit filter. Other headers (e.g. Retry-After) are set by the caller.
+     */
+    public static void writeRejection(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                                      HttpStatus status, String message) throws IOException {
+        AuditContext.current().ifPresent(auditContext -> auditContext.setErrorMessage(message));
+
+        response.setStatus(status.value());
+        String correlationId = request.getHeader("correlation-id");
+        if (correlationId != null) {
+            response.setHeader("correlation-id", correlationId);
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDto(status, message));
+    }
+}
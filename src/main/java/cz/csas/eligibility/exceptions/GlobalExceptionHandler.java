@@ -1,8 +1,9 @@
 package cz.csas.eligibility.exceptions;
 
+import cz.csas.eligibility.config.auditlogs.AuditContext;
 import cz.csas.eligibility.model.ErrorDto;
-import cz.csas.eligibility.utils.DateUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,8 +12,6 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.time.LocalDateTime;
-
 import static org.springframework.http.HttpStatus.*;
 
 @ControllerAdvice
@@ -20,7 +19,8 @@ import static org.springframework.http.HttpStatus.*;
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler({
-            EligibilityApiException.class
+            EligibilityApiException.class,
+            InvalidRequestParameterException.class
     })
     public ResponseEntity<Object> handleType400exceptions(final Exception exception,
                                                           final WebRequest request) {
@@ -28,6 +28,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleException(exception, new HttpHeaders(), BAD_REQUEST, request);
     }
 
+    // eligibility pool saturated - the request was not started
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Object> handleType503exceptions(final Exception exception,
+                                                          final WebRequest request) {
+
+        return handleException(exception, new HttpHeaders(), SERVICE_UNAVAILABLE, request);
+    }
+
     private ResponseEntity<Object> handleException(Exception e, HttpHeaders headers,
                                                    HttpStatus status, WebRequest request) {
 
@@ -39,12 +47,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             }
         }
 
-        ErrorDto errorDto = new ErrorDto();
-        errorDto.setErrorStatusValue(status.value());
-        errorDto.setErrorStatus(status.name());
-        errorDto.setErrorTime(DateUtils.convertToSystemOffsetDateTime(LocalDateTime.now()));
-        errorDto.setErrorMessage(e.getMessage());
+        ErrorDto errorDto = ErrorResponses.errorDto(status, e.getMessage());
 
+        // hand the error over to the REST audit filter directly (no need to parse it back from the response body)
+        AuditContext.current().ifPresent(auditContext -> {
+            auditContext.setErrorMessage(e.getMessage());
+            auditContext.setExceptionName(e.getClass().getName());
+        });
 
         log.error("An exception was thrown from a REST controller. Creating an ErrorDto (errorStatusValue: {}, errorMessage: {})",
                         errorDto.getErrorStatusValue(), e.getMessage());
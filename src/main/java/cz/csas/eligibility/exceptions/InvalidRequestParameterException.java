@@ -0,0 +1,16 @@
+package cz.csas.eligibility.exceptions;
+
+/**
+ * Custom exception signaling invalid request parameter (e.g. malformed pagination cursor).
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestParameterException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
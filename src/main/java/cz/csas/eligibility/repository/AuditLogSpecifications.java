@@ -0,0 +1,28 @@
+package cz.csas.eligibility.repository;
+
+import cz.csas.eligibility.entity.AuditLog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable query conditions over audit logs; null arguments mean "no condition".
+ */
+public class AuditLogSpecifications {
+
+    public static Specification<AuditLog> failed() {
+        return (root, query, cb) -> cb.isFalse(root.get("success"));
+    }
+
+    public static Specification<AuditLog> apiName(String apiName) {
+        return (root, query, cb) -> apiName == null ? null : cb.equal(root.get("apiName"), apiName);
+    }
+
+    public static Specification<AuditLog> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<AuditLog> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("createdAt"), to);
+    }
+}
@@ -1,17 +1,36 @@
 package cz.csas.eligibility.repository;
 
 import cz.csas.eligibility.entity.Eligibility;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Eligibility results. History queries are keyset-paginated (newest first) and backed by the
+ * (column, checked_at DESC, id DESC) indexes from V003__Add_eligibility_indexes.sql.
+ */
 @Repository
 public interface EligibilityRepository extends JpaRepository<Eligibility, Long> {
 
-    List<Eligibility> findByClientId(String clientId);
+    Window<Eligibility> findByClientIdOrderByCheckedAtDescIdDesc(String clientId, ScrollPosition position, Limit limit);
 
-    List<Eligibility> findByCorrelationId(String correlationId);
+    Window<Eligibility> findByCorrelationIdOrderByCheckedAtDescIdDesc(String correlationId, ScrollPosition position, Limit limit);
 
-    List<Eligibility> findAllByResult(Eligibility.EligibilityResultEnum result);
+    Window<Eligibility> findByResultOrderByCheckedAtDescIdDesc(Eligibility.EligibilityResultEnum result, ScrollPosition position, Limit limit);
+
+    Optional<Eligibility> findFirstByClientIdOrderByCheckedAtDescIdDesc(String clientId);
+
+    /**
+     * Distinct clients evaluated since given time, most recently evaluated first.
+     */
+    @Query("SELECT e.clientId FROM Eligibility e WHERE e.checkedAt >= :since GROUP BY e.clientId ORDER BY MAX(e.checkedAt) DESC")
+    List<String> findRecentlyActiveClientIds(@Param("since") LocalDateTime since, Limit limit);
 }
@@ -1,20 +1,19 @@
 package cz.csas.eligibility.service;
 
 import cz.csas.eligibility.exceptions.ExternalApiException;
-import cz.csas.eligibility.model.Account;
-
-import java.util.List;
 
 /**
  * Service interface for fetching client accounts from the external Accounts API.
  */
 public interface ApiServiceAccounts {
     /**
-     * Fetches the list of accounts for the given client ID.
+     * Checks whether the client has at least one open account (without closing_date or with closing_date in the future).
+     * The JSON response is scanned token by token while streamed and the scan stops at the first open account;
+     * Account models are not created.
      * @param clientId      the client identifier
      * @param correlationId the correlation id for tracing
-     * @return non-nullable List<Account> with accounts; may be empty if client has no accounts
-     * @throws ExternalApiException on API communication or server errors
+     * @return true if the client has an open account
+     * @throws ExternalApiException on API communication or server errors and on a response whose accounts are not an array
      */
-    List<Account> getClientAccounts(String clientId, String correlationId) throws ExternalApiException;
-}
\ No newline at end of file
+    boolean hasOpenAccount(String clientId, String correlationId) throws ExternalApiException;
+}
@@ -0,0 +1,26 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.dto.AuditLogExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for exporting audit logs.
+ */
+public interface AuditLogExportService {
+    /**
+     * Streams audit logs of given API created in [from, to) into the output stream, ordered by creation time.
+     * Rows are read through a server-side cursor and written as they arrive, so memory use does not depend on the number of rows.
+     *
+     * @param apiName name of the audited API (e.g. ApplicationServer, AccountsServer)
+     * @param from    start of the time range (inclusive)
+     * @param to      end of the time range (exclusive)
+     * @param format  output format
+     * @param out     stream the export is written to; it is flushed but not closed
+     * @return number of exported rows
+     * @throws IOException when writing to the output stream fails
+     */
+    long export(String apiName, LocalDateTime from, LocalDateTime to, AuditLogExportFormat format, OutputStream out) throws IOException;
+}
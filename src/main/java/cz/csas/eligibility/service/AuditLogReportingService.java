@@ -0,0 +1,22 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.dto.CursorPageDto;
+import cz.csas.eligibility.dto.FailedRequestDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for read-only queries over stored audit logs.
+ */
+public interface AuditLogReportingService {
+    /**
+     * Returns failed API calls, newest first.
+     * @param apiName name of the API; null for all APIs
+     * @param from    inclusive lower bound of created_at; null for unbounded
+     * @param to      exclusive upper bound of created_at; null for unbounded
+     * @param cursor  cursor returned with the previous page; null for the first page
+     * @param limit   requested page size; null for the default
+     * @return page of failed calls with cursor of the next page
+     */
+    CursorPageDto<FailedRequestDto> getFailedRequests(String apiName, LocalDateTime from, LocalDateTime to, String cursor, Integer limit);
+}
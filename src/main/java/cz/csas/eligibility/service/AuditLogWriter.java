@@ -0,0 +1,39 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.entity.AuditLog;
+
+import java.util.List;
+
+/**
+ * Backend persisting batches of AuditLog records into the audit_logs table.
+ */
+public interface AuditLogWriter {
+
+    /**
+     * Columns of audit_logs written by the JDBC based backends (in this order).
+     */
+    String COLUMNS = "request_id, api_name, method, url, request_headers, request_body, response_status, response_headers, "
+            + "response_body, execution_time_ms, success, error_message, exception_name, correlation_id, user_id, created_at, "
+            + "response_size_bytes, response_compressed_size_bytes";
+
+    /**
+     * Name of the backend used in configuration (property audit.writer.backend).
+     *
+     * @return backend name, e.g. "jpa", "jdbc" or "copy"
+     */
+    String getName();
+
+    /**
+     * Tells whether the backend can be used against the configured database.
+     *
+     * @return true if the backend is usable
+     */
+    boolean isSupported();
+
+    /**
+     * Writes the whole batch of audit logs in one transaction.
+     *
+     * @param auditLogs non-null list of audit logs; may be empty
+     */
+    void write(List<AuditLog> auditLogs);
+}
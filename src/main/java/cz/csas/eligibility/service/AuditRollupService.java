@@ -0,0 +1,28 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.dto.AuditRollupDto;
+import cz.csas.eligibility.entity.AuditLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface maintaining and querying per-minute rollups of audited API calls.
+ */
+public interface AuditRollupService {
+    /**
+     * Adds written audit logs into rollups of their api_name and minute.
+     * @param auditLogs audit logs that were just persisted
+     */
+    void record(List<AuditLog> auditLogs);
+
+    /**
+     * Returns call statistics aggregated into buckets of given size.
+     * @param apiName       name of the API; null for all APIs
+     * @param from          inclusive start of the time range
+     * @param to            exclusive end of the time range
+     * @param bucketMinutes bucket size in minutes; buckets are aligned to multiples of the size since midnight of 1970-01-01
+     * @return statistics ordered by api name and bucket start; empty buckets are omitted
+     */
+    List<AuditRollupDto> getRollups(String apiName, LocalDateTime from, LocalDateTime to, int bucketMinutes);
+}
@@ -0,0 +1,56 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.dto.CursorPageDto;
+import cz.csas.eligibility.dto.EligibilityRecordDto;
+import cz.csas.eligibility.entity.Eligibility;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for read-only queries over stored eligibility results.
+ */
+public interface EligibilityReportingService {
+    /**
+     * Returns eligibility history of the client, newest first.
+     * @param clientId the client identifier
+     * @param cursor   cursor returned with the previous page; null for the first page
+     * @param limit    requested page size; null for the default
+     * @return page of results with cursor of the next page
+     */
+    CursorPageDto<EligibilityRecordDto> getHistoryByClientId(String clientId, String cursor, Integer limit);
+
+    /**
+     * Returns eligibility results with given correlation id, newest first.
+     * @param correlationId the correlation id
+     * @param cursor        cursor returned with the previous page; null for the first page
+     * @param limit         requested page size; null for the default
+     * @return page of results with cursor of the next page
+     */
+    CursorPageDto<EligibilityRecordDto> getHistoryByCorrelationId(String correlationId, String cursor, Integer limit);
+
+    /**
+     * Returns eligibility results with given outcome, newest first.
+     * @param result the evaluation outcome
+     * @param cursor cursor returned with the previous page; null for the first page
+     * @param limit  requested page size; null for the default
+     * @return page of results with cursor of the next page
+     */
+    CursorPageDto<EligibilityRecordDto> getHistoryByResult(Eligibility.EligibilityResultEnum result, String cursor, Integer limit);
+
+    /**
+     * Returns the latest eligibility result of the client.
+     * @param clientId the client identifier
+     * @return latest result or empty Optional if the client was never evaluated
+     */
+    Optional<EligibilityRecordDto> getLatestResult(String clientId);
+
+    /**
+     * Returns distinct clients evaluated since given time, most recently evaluated first.
+     * @param since    start of the period
+     * @param maxCount maximum number of returned clients
+     * @return client identifiers
+     */
+    List<String> getRecentlyActiveClientIds(LocalDateTime since, int maxCount);
+}
@@ -0,0 +1,34 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.dto.EligibilityOutcomeStatsDto;
+import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.model.GetEligibilityResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface counting eligibility outcomes in memory and persisting them hourly.
+ */
+public interface EligibilityStatsService {
+    /**
+     * Counts one evaluated outcome; cheap enough to be called on every request.
+     * @param result    the evaluation outcome
+     * @param reasons   reasons of NOT_ELIGIBLE outcome; empty for other outcomes
+     * @param checkedAt time of the evaluation (determines the hourly bucket)
+     */
+    void recordOutcome(Eligibility.EligibilityResultEnum result, List<GetEligibilityResponse.ReasonsEnum> reasons, LocalDateTime checkedAt);
+
+    /**
+     * Adds in-memory counts to the persisted hourly buckets.
+     */
+    void flush();
+
+    /**
+     * Returns outcome counts of hourly buckets starting in [from, to), merging persisted and not yet flushed counts.
+     * @param from start of the range, truncated to the whole hour
+     * @param to   exclusive end of the range
+     * @return counts by result and by reason
+     */
+    EligibilityOutcomeStatsDto getStats(LocalDateTime from, LocalDateTime to);
+}
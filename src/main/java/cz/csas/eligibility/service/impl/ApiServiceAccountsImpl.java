@@ -1,53 +1,96 @@
 package cz.csas.eligibility.service.impl;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import cz.csas.eligibility.api_accounts.api.AccountsServerApi;
+import cz.csas.eligibility.config.cache.ClientCache;
+import cz.csas.eligibility.config.cache.ClientCacheRegistry;
 import cz.csas.eligibility.exceptions.ExternalApiException;
-import cz.csas.eligibility.model.Account;
 import cz.csas.eligibility.model.GetAccountsRequest;
-import cz.csas.eligibility.model.GetAccountsResponse;
 import cz.csas.eligibility.service.ApiServiceAccounts;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Implementation of ApiServiceAccounts that calls the external Accounts server API.
  */
 @Service
+@Slf4j
 public class ApiServiceAccountsImpl implements ApiServiceAccounts {
 
+    private static final String LIST_PATH = "/list";
+    private static final String ACCOUNTS_FIELD = "accounts";
+    private static final String CLOSING_DATE_FIELD = "closing_date";
+
     private final AccountsServerApi accountsServerApi;
     private final String accountsApiKey;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final ClientCache<Boolean> openAccounts;
 
     public ApiServiceAccountsImpl(
             AccountsServerApi accountsServerApi,
             //accountsApiKey is defined in application.properties
-            @Value("${apiKeyAccountsServer}") String accountsApiKey) {
+            @Value("${apiKeyAccountsServer}") String accountsApiKey,
+            //the same (audited) RestTemplate the generated ApiClient uses
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            ClientCacheRegistry clientCacheRegistry,
+            //open account checks are cached per instance; evicted cluster-wide by CacheInvalidationBus
+            @Value("${cache.open-accounts.ttl-ms:0}") long openAccountsTtlMs) {
         this.accountsServerApi = accountsServerApi;
         this.accountsApiKey = accountsApiKey;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.openAccounts = clientCacheRegistry.create("open-accounts", openAccountsTtlMs);
     }
 
     @Override
-    public List<Account> getClientAccounts(String clientId, String correlationId) throws ExternalApiException {
-        // Build the request payload
-        GetAccountsRequest request = new GetAccountsRequest(clientId);
+    public boolean hasOpenAccount(String clientId, String correlationId) throws ExternalApiException {
+        return openAccounts.get(clientId, () -> fetchHasOpenAccount(clientId, correlationId));
+    }
+
+    private boolean fetchHasOpenAccount(String clientId, String correlationId) {
+        // url is built like in the generated ApiClient (its base path may end with an empty port)
+        String url = accountsServerApi.getApiClient().getBasePath() + LIST_PATH;
 
         try {
-            // Invoke external API
-            GetAccountsResponse response = accountsServerApi.listGet(
-                    clientId,
-                    accountsApiKey,
-                    correlationId,
-                    request
-            );
+            // same request as AccountsServerApi.listGet, but JSON is requested explicitly (the API offers XML as well)
+            // and the response is scanned while streamed instead of being deserialized into GetAccountsResponse
+            Boolean hasOpenAccount = restTemplate.execute(url, HttpMethod.GET,
+                    request -> {
+                        HttpHeaders headers = request.getHeaders();
+                        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                        headers.setContentType(MediaType.APPLICATION_JSON);
+                        headers.add("clientId", clientId);
+                        headers.add("api-key", accountsApiKey);
+                        if (correlationId != null) {
+                            headers.add("correlation-id", correlationId);
+                        }
+                        request.getBody().write(objectMapper.writeValueAsBytes(new GetAccountsRequest(clientId)));
+                    },
+                    response -> containsOpenAccount(response.getBody(), Instant.now()));
 
-            // Extract and return the list of accounts. In case of null return empty List
-            return Objects.requireNonNullElse(response.getAccounts(), Collections.emptyList());
+            return Boolean.TRUE.equals(hasOpenAccount);
 
         } catch (HttpClientErrorException e) {
             // 4xx errors
@@ -56,11 +99,84 @@ public class ApiServiceAccountsImpl implements ApiServiceAccounts {
                     e
             );
         } catch (RestClientException e) {
-            // I/O or 5xx errors
+            // I/O, malformed JSON or 5xx errors
             throw new ExternalApiException(
                     "Internal error when calling Accounts API: " + e.getMessage(),
                     e
             );
         }
     }
+
+    /**
+     * Scans the GetAccountsResponse JSON for an account without closing_date or with closing_date after now.
+     * Unknown fields and nested objects (e.g. client) are skipped without being materialized.
+     * A client without accounts gets a response without accounts (the field is optional with minItems 1), so a missing
+     * or null accounts field means no open account. A body which is not a JSON object or accounts which is not an array
+     * is rejected and ends as ExternalApiException.
+     */
+    private boolean containsOpenAccount(InputStream body, Instant now) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Accounts API response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (ACCOUNTS_FIELD.equals(field)) {
+                    if (value == JsonToken.VALUE_NULL) {
+                        return false;
+                    }
+                    if (value != JsonToken.START_ARRAY) {
+                        throw new JsonParseException(parser, "Accounts API response field accounts is not an array");
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (isOpenAccount(parser, now)) {
+                            // remaining accounts are not read at all
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads one account object (parser positioned at its START_OBJECT) up to its END_OBJECT.
+     */
+    private boolean isOpenAccount(JsonParser parser, Instant now) throws IOException {
+        String closingDate = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (CLOSING_DATE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                closingDate = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return closingDate == null || closingDate.isBlank() || isAfter(closingDate, now);
+    }
+
+    /**
+     * closing_date is documented as ISO date-time; offset-less values are taken in the system zone and plain dates
+     * mean the end of that day. Unparseable value does not close the account (as before, any account counted).
+     */
+    private static boolean isAfter(String closingDate, Instant now) {
+        try {
+            if (closingDate.length() == 10) {
+                return LocalDate.parse(closingDate).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().isAfter(now);
+            }
+            try {
+                return OffsetDateTime.parse(closingDate).toInstant().isAfter(now);
+            } catch (DateTimeParseException e) {
+                return LocalDateTime.parse(closingDate).atZone(ZoneId.systemDefault()).toInstant().isAfter(now);
+            }
+        } catch (DateTimeParseException e) {
+            log.warn("Unparseable closing_date '{}' of account - account is considered open", closingDate);
+            return true;
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package cz.csas.eligibility.service.impl;
 
 import cz.csas.eligibility.api_clients.api.ClientsServerApi;
+import cz.csas.eligibility.config.cache.ClientCache;
+import cz.csas.eligibility.config.cache.ClientCacheRegistry;
 import cz.csas.eligibility.exceptions.ExternalApiException;
 import cz.csas.eligibility.model.GetClientDetailResponse;
 import cz.csas.eligibility.service.ApiServiceClients;
@@ -16,17 +18,26 @@ import org.springframework.web.client.RestClientException;
 public class ApiServiceClientsImpl implements ApiServiceClients {
     private final ClientsServerApi clientsServerApi;
     private final String clientsApiKey;
+    private final ClientCache<GetClientDetailResponse> clientDetails;
 
     public ApiServiceClientsImpl(
             ClientsServerApi clientsServerApi,
             //accountsApiKey is defined in application.properties
-            @Value("${apiKeyClientsServer}") String clientsApiKey) {
+            @Value("${apiKeyClientsServer}") String clientsApiKey,
+            ClientCacheRegistry clientCacheRegistry,
+            //client details are cached per instance; evicted cluster-wide by CacheInvalidationBus
+            @Value("${cache.client-details.ttl-ms:0}") long clientDetailsTtlMs) {
         this.clientsServerApi = clientsServerApi;
         this.clientsApiKey = clientsApiKey;
+        this.clientDetails = clientCacheRegistry.create("client-details", clientDetailsTtlMs);
     }
 
     @Override
     public GetClientDetailResponse getClientDetail(String clientId, String correlationId) throws ExternalApiException {
+        return clientDetails.get(clientId, () -> fetchClientDetail(clientId, correlationId));
+    }
+
+    private GetClientDetailResponse fetchClientDetail(String clientId, String correlationId) {
         try {
             // Invoke external API
             return clientsServerApi.clientIdGet(
@@ -0,0 +1,194 @@
+package cz.csas.eligibility.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.dto.AuditLogExportFormat;
+import cz.csas.eligibility.service.AuditLogExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of AuditLogExportService methods
+ */
+@Service
+@Slf4j
+@UseDataSourcePool(DataSourcePool.REPORTING)
+public class AuditLogExportServiceImpl implements AuditLogExportService {
+
+    private static final String[] EXPORT_COLUMNS = {
+            "id", "request_id", "api_name", "method", "url", "request_headers", "request_body", "response_status",
+            "response_headers", "response_body", "execution_time_ms", "success", "error_message", "exception_name",
+            "correlation_id", "user_id", "created_at", "response_size_bytes", "response_compressed_size_bytes"
+    };
+
+    private static final String EXPORT_SQL = "SELECT " + String.join(", ", EXPORT_COLUMNS) + " FROM audit_logs "
+            + "WHERE api_name = ? AND created_at >= ? AND created_at < ? ORDER BY created_at, id";
+
+    private final JdbcTemplate exportJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public AuditLogExportServiceImpl(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            //number of rows fetched from the database cursor in one round trip is defined in application.properties
+            @Value("${audit.export.fetch-size:1000}") int fetchSize) {
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    // PostgreSQL driver uses a server-side cursor only inside a transaction (autocommit off) and with fetch size set
+    @Transactional(readOnly = true)
+    public long export(String apiName, LocalDateTime from, LocalDateTime to, AuditLogExportFormat format, OutputStream out) throws IOException {
+        RowWriter rowWriter = format == AuditLogExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            rowWriter.start();
+            exportJdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    rowWriter.write(rs);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, apiName, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            rowWriter.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} audit logs of API {} between {} and {} as {}", rows[0], apiName, from, to, format);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line; values are written straight from the result set by the streaming JsonGenerator.
+     */
+    private class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < EXPORT_COLUMNS.length; i++) {
+                Object value = rs.getObject(i + 1);
+                generator.writeFieldName(EXPORT_COLUMNS[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else if (value instanceof Timestamp timestamp) {
+                    generator.writeString(timestamp.toLocalDateTime().toString());
+                } else {
+                    // text of JSON header columns too (their objects are driver specific)
+                    generator.writeString(rs.getString(i + 1));
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with header row.
+     */
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", EXPORT_COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < EXPORT_COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i + 1);
+                if (value instanceof Timestamp timestamp) {
+                    writer.write(timestamp.toLocalDateTime().toString());
+                } else if (value != null) {
+                    writeEscaped(rs.getString(i + 1));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.dto.CursorPageDto;
+import cz.csas.eligibility.dto.FailedRequestDto;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.repository.AuditLogRepository;
+import cz.csas.eligibility.service.AuditLogReportingService;
+import cz.csas.eligibility.utils.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static cz.csas.eligibility.repository.AuditLogSpecifications.*;
+
+/**
+ * Implementation of AuditLogReportingService methods
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@UseDataSourcePool(DataSourcePool.REPORTING)
+public class AuditLogReportingServiceImpl implements AuditLogReportingService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String TIMESTAMP_PROPERTY = "createdAt";
+    // matches idx_audit_logs_failed_created_at (created_at DESC, id DESC)
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, TIMESTAMP_PROPERTY, "id");
+
+    private final AuditLogRepository auditLogRepository;
+
+    @Override
+    public CursorPageDto<FailedRequestDto> getFailedRequests(String apiName, LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        Specification<AuditLog> specification = failed()
+                .and(apiName(apiName))
+                .and(createdFrom(from))
+                .and(createdBefore(to));
+
+        Window<AuditLog> window = auditLogRepository.findBy(specification, query -> query
+                .sortBy(NEWEST_FIRST)
+                .limit(KeysetCursor.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE))
+                .scroll(KeysetCursor.decode(cursor, TIMESTAMP_PROPERTY)));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            AuditLog last = window.getContent().get(window.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageDto<>(window.map(FailedRequestDto::from).getContent(), nextCursor);
+    }
+}
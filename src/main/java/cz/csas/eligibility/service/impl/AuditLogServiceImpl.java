@@ -1,29 +1,58 @@
 package cz.csas.eligibility.service.impl;
 
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
 import cz.csas.eligibility.entity.AuditLog;
-import cz.csas.eligibility.repository.AuditLogRepository;
 import cz.csas.eligibility.service.AuditLogService;
-import lombok.RequiredArgsConstructor;
+import cz.csas.eligibility.service.AuditLogWriter;
+import cz.csas.eligibility.service.AuditRollupService;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Implementation of AuditLogService methods
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
+@UseDataSourcePool(DataSourcePool.AUDIT)
 public class AuditLogServiceImpl implements AuditLogService {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final JpaAuditLogWriter jpaAuditLogWriter;
+    private final AuditRollupService auditRollupService;
+    private final boolean batchingEnabled;
+    private final int batchSize;
+    private final BlockingQueue<AuditLog> pendingAuditLogs;
+
+    public AuditLogServiceImpl(
+            List<AuditLogWriter> auditLogWriters,
+            JpaAuditLogWriter jpaAuditLogWriter,
+            AuditRollupService auditRollupService,
+            //writer backend and batching are defined in application.properties
+            @Value("${audit.writer.backend:jpa}") String backend,
+            @Value("${audit.writer.batching.enabled:false}") boolean batchingEnabled,
+            @Value("${audit.writer.batch-size:500}") int batchSize,
+            @Value("${audit.writer.queue-capacity:20000}") int queueCapacity) {
+        this.auditLogWriter = selectWriter(auditLogWriters, jpaAuditLogWriter, backend);
+        this.jpaAuditLogWriter = jpaAuditLogWriter;
+        this.auditRollupService = auditRollupService;
+        this.batchingEnabled = batchingEnabled;
+        this.batchSize = batchSize;
+        this.pendingAuditLogs = new LinkedBlockingQueue<>(queueCapacity);
+    }
 
     @Override
     @Async
-    @Transactional
     public CompletableFuture<AuditLog> saveAuditLog(AuditLog auditLog) {
         try {
             // limit logged request/response body length to some reasonable value
@@ -34,13 +63,85 @@ public class AuditLogServiceImpl implements AuditLogService {
                 auditLog.setResponseBody(auditLog.getResponseBody().substring(0, 10000) + "... [TRUNCATED]");
             }
 
-            AuditLog savedLog = auditLogRepository.save(auditLog);
-            log.debug("Audit log saved with requestId: {}", auditLog.getRequestId());
+            // with batching the log is written by flushPendingAuditLogs(); when the queue is full it is written directly
+            if (!batchingEnabled || !pendingAuditLogs.offer(auditLog)) {
+                write(auditLogWriter, List.of(auditLog));
+                log.debug("Audit log saved with requestId: {}", auditLog.getRequestId());
+            }
 
-            return CompletableFuture.completedFuture(savedLog);
+            return CompletableFuture.completedFuture(auditLog);
         } catch (Exception e) {
             log.error("Failed to save audit log for requestId: {}", auditLog.getRequestId(), e);
             return null;
         }
     }
+
+    /**
+     * Writes queued audit logs in batches of audit.writer.batch-size records. A batch which cannot be written
+     * (e.g. one bad record or a short database outage) is retried record by record through Hibernate.
+     */
+    @Scheduled(fixedDelayString = "${audit.writer.flush-interval-ms:200}")
+    public void flushPendingAuditLogs() {
+        List<AuditLog> batch = new ArrayList<>(Math.min(batchSize, pendingAuditLogs.size()));
+        while (pendingAuditLogs.drainTo(batch, batchSize) > 0) {
+            try {
+                write(auditLogWriter, batch);
+                log.debug("Batch of {} audit logs saved by {} writer", batch.size(), auditLogWriter.getName());
+            } catch (Exception e) {
+                log.warn("Failed to save batch of {} audit logs by {} writer, saving them one by one", batch.size(),
+                        auditLogWriter.getName(), e);
+                writeOneByOne(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeOneByOne(List<AuditLog> auditLogs) {
+        int failed = 0;
+        for (AuditLog auditLog : auditLogs) {
+            // the batch was rolled back - an id assigned by a failed Hibernate insert does not exist
+            auditLog.setId(null);
+            try {
+                write(jpaAuditLogWriter, List.of(auditLog));
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to save audit log with requestId: {}", auditLog.getRequestId(), e);
+            }
+        }
+        if (failed > 0) {
+            log.error("{} of {} audit logs of the failed batch were lost", failed, auditLogs.size());
+        }
+    }
+
+    /**
+     * Persists audit logs and then adds them into per-minute rollups; failure of the rollup update does not lose the audit logs.
+     */
+    private void write(AuditLogWriter writer, List<AuditLog> auditLogs) {
+        writer.write(auditLogs);
+        try {
+            auditRollupService.record(auditLogs);
+        } catch (Exception e) {
+            log.error("Failed to update audit rollups with {} audit logs", auditLogs.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushPendingAuditLogs();
+    }
+
+    private static AuditLogWriter selectWriter(List<AuditLogWriter> writers, JpaAuditLogWriter fallback, String backend) {
+        AuditLogWriter writer = writers.stream()
+                .filter(w -> w.getName().equalsIgnoreCase(backend))
+                .findFirst()
+                .orElse(fallback);
+
+        if (!writer.isSupported()) {
+            log.warn("Audit log writer '{}' is not supported by the configured database, falling back to '{}'",
+                    writer.getName(), fallback.getName());
+            return fallback;
+        }
+        log.info("Audit logs are written by '{}' writer", writer.getName());
+        return writer;
+    }
 }
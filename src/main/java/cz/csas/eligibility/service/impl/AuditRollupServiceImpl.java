@@ -0,0 +1,162 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.dto.AuditRollupDto;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.exceptions.InvalidRequestParameterException;
+import cz.csas.eligibility.service.AuditRollupService;
+import cz.csas.eligibility.utils.LatencySketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of AuditRollupService methods
+ */
+@Service
+@RequiredArgsConstructor
+@UseDataSourcePool(DataSourcePool.AUDIT)
+public class AuditRollupServiceImpl implements AuditRollupService {
+
+    private static final Duration MAX_RANGE = Duration.ofDays(31);
+    private static final int MAX_BUCKET_MINUTES = 24 * 60;
+
+    private static final String INSERT_EMPTY_SQL = "INSERT INTO audit_rollup_minute (api_name, bucket_start) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final String LOCK_SQL = "SELECT call_count, failure_count, latency_sum_ms, latency_max_ms, latency_sketch "
+            + "FROM audit_rollup_minute WHERE api_name = ? AND bucket_start = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE audit_rollup_minute SET call_count = ?, failure_count = ?, latency_sum_ms = ?, "
+            + "latency_max_ms = ?, latency_sketch = ? WHERE api_name = ? AND bucket_start = ?";
+    private static final String SELECT_SQL = "SELECT api_name, bucket_start, call_count, failure_count, latency_sum_ms, latency_max_ms, latency_sketch "
+            + "FROM audit_rollup_minute WHERE (CAST(? AS VARCHAR) IS NULL OR api_name = ?) AND bucket_start >= ? AND bucket_start < ? "
+            + "ORDER BY api_name, bucket_start";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void record(List<AuditLog> auditLogs) {
+        // aggregate the batch in memory first so that every rollup row is touched once per batch
+        Map<RollupKey, Rollup> delta = new TreeMap<>(RollupKey.ORDER);
+        for (AuditLog auditLog : auditLogs) {
+            RollupKey key = new RollupKey(auditLog.getApiName(), auditLog.getCreatedAt().truncatedTo(ChronoUnit.MINUTES));
+            delta.computeIfAbsent(key, k -> new Rollup()).add(auditLog);
+        }
+
+        // rows are locked in key order so that concurrent writers (other instances) cannot deadlock
+        delta.forEach((key, rollup) -> {
+            Timestamp bucketStart = Timestamp.valueOf(key.bucketStart());
+            jdbcTemplate.update(INSERT_EMPTY_SQL, key.apiName(), bucketStart);
+            Rollup current = jdbcTemplate.queryForObject(LOCK_SQL, (rs, rowNum) -> Rollup.of(
+                    rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getBytes(5)), key.apiName(), bucketStart);
+            current.merge(rollup);
+            jdbcTemplate.update(UPDATE_SQL, current.calls, current.failures, current.latencySum, current.latencyMax,
+                    current.sketch.toBytes(), key.apiName(), bucketStart);
+        });
+    }
+
+    @Override
+    @UseDataSourcePool(DataSourcePool.REPORTING)
+    @Transactional(readOnly = true)
+    public List<AuditRollupDto> getRollups(String apiName, LocalDateTime from, LocalDateTime to, int bucketMinutes) {
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new InvalidRequestParameterException("Time range must be non-empty and at most " + MAX_RANGE.toDays() + " days long");
+        }
+        if (bucketMinutes < 1 || bucketMinutes > MAX_BUCKET_MINUTES) {
+            throw new InvalidRequestParameterException("Bucket size must be between 1 and " + MAX_BUCKET_MINUTES + " minutes");
+        }
+
+        Map<RollupKey, Rollup> buckets = new TreeMap<>(RollupKey.ORDER);
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            LocalDateTime minute = rs.getTimestamp(2).toLocalDateTime();
+            RollupKey key = new RollupKey(rs.getString(1), alignToBucket(minute, bucketMinutes));
+            buckets.computeIfAbsent(key, k -> new Rollup())
+                    .merge(Rollup.of(rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getBytes(7)));
+        }, apiName, apiName, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        List<AuditRollupDto> result = new ArrayList<>(buckets.size());
+        buckets.forEach((key, rollup) -> result.add(rollup.toDto(key)));
+        return result;
+    }
+
+    private static LocalDateTime alignToBucket(LocalDateTime minute, int bucketMinutes) {
+        long epochMinute = minute.toEpochSecond(ZoneOffset.UTC) / 60;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMinute, bucketMinutes) * bucketMinutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private record RollupKey(String apiName, LocalDateTime bucketStart) {
+        static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::apiName).thenComparing(RollupKey::bucketStart);
+    }
+
+    private static final class Rollup {
+        private long calls;
+        private long failures;
+        private long latencySum;
+        private long latencyMax;
+        private LatencySketch sketch = new LatencySketch();
+
+        static Rollup of(long calls, long failures, long latencySum, long latencyMax, byte[] sketch) {
+            Rollup rollup = new Rollup();
+            rollup.calls = calls;
+            rollup.failures = failures;
+            rollup.latencySum = latencySum;
+            rollup.latencyMax = latencyMax;
+            rollup.sketch = LatencySketch.fromBytes(sketch);
+            return rollup;
+        }
+
+        void add(AuditLog auditLog) {
+            calls++;
+            if (!Boolean.TRUE.equals(auditLog.getSuccess())) {
+                failures++;
+            }
+            Long latency = auditLog.getExecutionTimeMs();
+            if (latency != null) {
+                latencySum += latency;
+                latencyMax = Math.max(latencyMax, latency);
+                sketch.record(latency);
+            }
+        }
+
+        void merge(Rollup other) {
+            calls += other.calls;
+            failures += other.failures;
+            latencySum += other.latencySum;
+            latencyMax = Math.max(latencyMax, other.latencyMax);
+            sketch.merge(other.sketch);
+        }
+
+        AuditRollupDto toDto(RollupKey key) {
+            boolean hasLatency = sketch.count() > 0;
+            return new AuditRollupDto(
+                    key.apiName(),
+                    key.bucketStart(),
+                    calls,
+                    failures,
+                    calls == 0 ? 0 : (double) failures / calls,
+                    hasLatency ? (double) latencySum / sketch.count() : null,
+                    hasLatency ? latencyMax : null,
+                    percentile(0.50),
+                    percentile(0.95),
+                    percentile(0.99));
+        }
+
+        private Long percentile(double quantile) {
+            Long value = sketch.quantile(quantile);
+            // bucket midpoint may exceed the exact maximum for the highest bucket
+            return value == null ? null : Math.min(value, latencyMax);
+        }
+    }
+}
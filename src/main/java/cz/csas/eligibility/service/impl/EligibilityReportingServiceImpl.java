@@ -0,0 +1,82 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.dto.CursorPageDto;
+import cz.csas.eligibility.dto.EligibilityRecordDto;
+import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.repository.EligibilityRepository;
+import cz.csas.eligibility.service.EligibilityReportingService;
+import cz.csas.eligibility.utils.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of EligibilityReportingService methods
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@UseDataSourcePool(DataSourcePool.REPORTING)
+public class EligibilityReportingServiceImpl implements EligibilityReportingService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String TIMESTAMP_PROPERTY = "checkedAt";
+
+    private final EligibilityRepository eligibilityRepository;
+
+    @Override
+    public CursorPageDto<EligibilityRecordDto> getHistoryByClientId(String clientId, String cursor, Integer limit) {
+        return toPage(eligibilityRepository.findByClientIdOrderByCheckedAtDescIdDesc(
+                clientId, position(cursor), pageSize(limit)));
+    }
+
+    @Override
+    public CursorPageDto<EligibilityRecordDto> getHistoryByCorrelationId(String correlationId, String cursor, Integer limit) {
+        return toPage(eligibilityRepository.findByCorrelationIdOrderByCheckedAtDescIdDesc(
+                correlationId, position(cursor), pageSize(limit)));
+    }
+
+    @Override
+    public CursorPageDto<EligibilityRecordDto> getHistoryByResult(Eligibility.EligibilityResultEnum result, String cursor, Integer limit) {
+        return toPage(eligibilityRepository.findByResultOrderByCheckedAtDescIdDesc(
+                result, position(cursor), pageSize(limit)));
+    }
+
+    @Override
+    public Optional<EligibilityRecordDto> getLatestResult(String clientId) {
+        return eligibilityRepository.findFirstByClientIdOrderByCheckedAtDescIdDesc(clientId)
+                .map(EligibilityRecordDto::from);
+    }
+
+    @Override
+    public List<String> getRecentlyActiveClientIds(LocalDateTime since, int maxCount) {
+        return eligibilityRepository.findRecentlyActiveClientIds(since, Limit.of(maxCount));
+    }
+
+    private static ScrollPosition position(String cursor) {
+        return KeysetCursor.decode(cursor, TIMESTAMP_PROPERTY);
+    }
+
+    private static Limit pageSize(Integer limit) {
+        return Limit.of(KeysetCursor.pageSize(limit, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+    }
+
+    private static CursorPageDto<EligibilityRecordDto> toPage(Window<Eligibility> window) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Eligibility last = window.getContent().get(window.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCheckedAt(), last.getId());
+        }
+        return new CursorPageDto<>(window.map(EligibilityRecordDto::from).getContent(), nextCursor);
+    }
+}
@@ -1,15 +1,19 @@
 package cz.csas.eligibility.service.impl;
 
+import cz.csas.eligibility.config.auditlogs.AuditContext;
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
 import cz.csas.eligibility.entity.Eligibility;
 import cz.csas.eligibility.exceptions.EligibilityApiException;
-import cz.csas.eligibility.model.Account;
 import cz.csas.eligibility.model.GetClientDetailResponse;
 import cz.csas.eligibility.model.GetEligibilityResponse;
 import cz.csas.eligibility.repository.EligibilityRepository;
 import cz.csas.eligibility.service.ApiServiceAccounts;
 import cz.csas.eligibility.service.ApiServiceClients;
 import cz.csas.eligibility.service.EligibilityService;
+import cz.csas.eligibility.service.EligibilityStatsService;
 import cz.csas.eligibility.utils.DateUtils;
+import cz.csas.eligibility.utils.SyntheticEvaluation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,54 +27,65 @@ import java.util.List;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@UseDataSourcePool(DataSourcePool.ELIGIBILITY)
 public class EligibilityServiceImpl implements EligibilityService {
 
     private final ApiServiceAccounts apiServiceAccounts;
     private final ApiServiceClients apiServiceClients;
     private final EligibilityRepository eligibilityRepository;
+    private final EligibilityStatsService eligibilityStatsService;
 
     @Override
     public GetEligibilityResponse evaluateEligibility(String clientId, String correlationId) {
         try {
             GetEligibilityResponse eligibilityResponse = new GetEligibilityResponse();
 
-            List<Account> accounts = apiServiceAccounts.getClientAccounts(clientId, correlationId);
+            // only existence of an open account matters - Account models are not built
+            boolean hasOpenAccount = apiServiceAccounts.hasOpenAccount(clientId, correlationId);
             GetClientDetailResponse clientDetail = apiServiceClients.getClientDetail(clientId, correlationId);
             boolean clientIsAdult = DateUtils.isAdult(clientDetail.getBirthDate());
 
-            if (!accounts.isEmpty() && clientIsAdult) {
+            if (hasOpenAccount && clientIsAdult) {
                 eligibilityResponse.setEligible(true);
-                saveResult(clientId, correlationId, Eligibility.EligibilityResultEnum.ELIGIBLE);
+                saveResult(clientId, correlationId, Eligibility.EligibilityResultEnum.ELIGIBLE, List.of());
                 return eligibilityResponse;
             } else {
                 List<GetEligibilityResponse.ReasonsEnum> reasons = new ArrayList<>();
 
-                if (accounts.isEmpty()) reasons.add(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT);
+                if (!hasOpenAccount) reasons.add(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT);
                 if (!clientIsAdult) reasons.add(GetEligibilityResponse.ReasonsEnum.NO_ADULT);
 
                 eligibilityResponse.setEligible(false);
                 eligibilityResponse.setReasons(reasons);
 
-                saveResult(clientId, correlationId, Eligibility.EligibilityResultEnum.NOT_ELIGIBLE);
+                saveResult(clientId, correlationId, Eligibility.EligibilityResultEnum.NOT_ELIGIBLE, reasons);
 
                 return eligibilityResponse;
             }
 
         } catch (Exception e) {
             log.error("Error occurred while evaluating eligibility! CliendId: {}, CorrelationId: {}, Error message: {}", clientId, correlationId, e.getMessage(), e);
-            saveResult(clientId, correlationId, Eligibility.EligibilityResultEnum.ERROR);
+            saveResult(clientId, correlationId, Eligibility.EligibilityResultEnum.ERROR, List.of());
 
             throw new EligibilityApiException(correlationId, e.getMessage(), e);
         }
     }
 
-    private Eligibility saveResult(String clientId, String correlationId, Eligibility.EligibilityResultEnum result) {
-        return eligibilityRepository.save(
-                Eligibility.builder()
-                        .clientId(clientId)
-                        .correlationId(correlationId)
-                        .result(result)
-                        .build()
-        );
+    private Eligibility saveResult(String clientId, String correlationId, Eligibility.EligibilityResultEnum result,
+                                   List<GetEligibilityResponse.ReasonsEnum> reasons) {
+        Eligibility eligibility = Eligibility.builder()
+                .clientId(clientId)
+                .correlationId(correlationId)
+                .result(result)
+                .build();
+        // synthetic warm-up evaluations leave no data - neither a result row nor outcome counters
+        if (SyntheticEvaluation.isActive()) {
+            return eligibility;
+        }
+        Eligibility saved = eligibilityRepository.save(eligibility);
+        // outcome counters feed the reporting stats without scanning the eligibility table
+        eligibilityStatsService.recordOutcome(result, reasons, eligibility.getCheckedAt());
+        AuditContext.current().ifPresent(auditContext -> auditContext.setEligibilityResult(result.name()));
+        return saved;
     }
 }
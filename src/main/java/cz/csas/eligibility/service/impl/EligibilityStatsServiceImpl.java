@@ -0,0 +1,162 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.dto.EligibilityOutcomeStatsDto;
+import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.exceptions.InvalidRequestParameterException;
+import cz.csas.eligibility.model.GetEligibilityResponse;
+import cz.csas.eligibility.service.EligibilityStatsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of EligibilityStatsService methods
+ */
+@Service
+@Slf4j
+@UseDataSourcePool(DataSourcePool.ELIGIBILITY)
+public class EligibilityStatsServiceImpl implements EligibilityStatsService {
+
+    private static final String INSERT_EMPTY_SQL = "INSERT INTO eligibility_outcome_hourly (bucket_start, result, reasons) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String INCREMENT_SQL = "UPDATE eligibility_outcome_hourly SET outcome_count = outcome_count + ? "
+            + "WHERE bucket_start = ? AND result = ? AND reasons = ?";
+    private static final String SELECT_SQL = "SELECT result, reasons, SUM(outcome_count) FROM eligibility_outcome_hourly "
+            + "WHERE bucket_start >= ? AND bucket_start < ? GROUP BY result, reasons";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // LongAdder stripes increments across cells, so concurrent requests do not contend on one counter
+    private final Map<OutcomeKey, LongAdder> counters = new ConcurrentHashMap<>();
+    // increments are lock-free; flush (write lock) and reads (read lock) are exclusive so that a read never sees
+    // a count both persisted and still in memory
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public EligibilityStatsServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void recordOutcome(Eligibility.EligibilityResultEnum result, List<GetEligibilityResponse.ReasonsEnum> reasons, LocalDateTime checkedAt) {
+        OutcomeKey key = new OutcomeKey(checkedAt.truncatedTo(ChronoUnit.HOURS), result.name(), reasonsKey(reasons));
+        counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    @Scheduled(cron = "${eligibility.stats.flush-cron:5 0 * * * *}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            Map<OutcomeKey, Long> snapshot = new TreeMap<>(OutcomeKey.ORDER);
+            counters.forEach((key, adder) -> {
+                long count = adder.sum();
+                if (count != 0) {
+                    snapshot.put(key, count);
+                }
+            });
+            if (!snapshot.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> snapshot.forEach(this::persist));
+                // subtract instead of reset - increments made during the flush stay in memory for the next one
+                snapshot.forEach((key, count) -> counters.get(key).add(-count));
+                log.info("Flushed {} eligibility outcome counters", snapshot.size());
+            }
+            evictClosedBuckets();
+        } catch (Exception e) {
+            log.error("Failed to flush eligibility outcome counters, they stay in memory for the next flush", e);
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @UseDataSourcePool(DataSourcePool.REPORTING)
+    public EligibilityOutcomeStatsDto getStats(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime bucketFrom = from.truncatedTo(ChronoUnit.HOURS);
+        if (!bucketFrom.isBefore(to)) {
+            throw new InvalidRequestParameterException("Parameter 'from' must be before 'to'");
+        }
+
+        Map<String, Long> byResult = new TreeMap<>();
+        Map<String, Long> byReason = new TreeMap<>();
+        flushLock.readLock().lock();
+        try {
+            jdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) rs -> add(byResult, byReason, rs.getString(1), rs.getString(2), rs.getLong(3)),
+                    Timestamp.valueOf(bucketFrom), Timestamp.valueOf(to));
+
+            counters.forEach((key, adder) -> {
+                if (!key.bucketStart().isBefore(bucketFrom) && key.bucketStart().isBefore(to)) {
+                    add(byResult, byReason, key.result(), key.reasons(), adder.sum());
+                }
+            });
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        long total = byResult.values().stream().mapToLong(Long::longValue).sum();
+        return new EligibilityOutcomeStatsDto(bucketFrom, to, total, byResult, byReason);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void persist(OutcomeKey key, long count) {
+        Timestamp bucketStart = Timestamp.valueOf(key.bucketStart());
+        jdbcTemplate.update(INSERT_EMPTY_SQL, bucketStart, key.result(), key.reasons());
+        jdbcTemplate.update(INCREMENT_SQL, count, bucketStart, key.result(), key.reasons());
+    }
+
+    /**
+     * Removes flushed counters of buckets closed for more than an hour (late increments are not expected anymore).
+     */
+    private void evictClosedBuckets() {
+        LocalDateTime threshold = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        counters.entrySet().removeIf(e -> e.getKey().bucketStart().isBefore(threshold) && e.getValue().sum() == 0);
+    }
+
+    private static void add(Map<String, Long> byResult, Map<String, Long> byReason, String result, String reasons, long count) {
+        if (count == 0) {
+            return;
+        }
+        byResult.merge(result, count, Long::sum);
+        if (!reasons.isEmpty()) {
+            for (String reason : reasons.split(",")) {
+                byReason.merge(reason, count, Long::sum);
+            }
+        }
+    }
+
+    private static String reasonsKey(List<GetEligibilityResponse.ReasonsEnum> reasons) {
+        if (reasons == null || reasons.isEmpty()) {
+            return "";
+        }
+        return reasons.stream().map(Enum::name).sorted().distinct().collect(Collectors.joining(","));
+    }
+
+    private record OutcomeKey(LocalDateTime bucketStart, String result, String reasons) {
+        static final Comparator<OutcomeKey> ORDER = Comparator.comparing(OutcomeKey::bucketStart)
+                .thenComparing(OutcomeKey::result)
+                .thenComparing(OutcomeKey::reasons);
+    }
+}
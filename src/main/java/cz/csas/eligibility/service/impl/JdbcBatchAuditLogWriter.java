@@ -0,0 +1,96 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.service.AuditLogWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * AuditLogWriter inserting audit logs with plain JDBC batch statements (no Hibernate entities involved).
+ * Supported only when the datasource points to PostgreSQL or H2 (see JSON_PARAMETERS).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@UseDataSourcePool(DataSourcePool.AUDIT)
+public class JdbcBatchAuditLogWriter implements AuditLogWriter {
+
+    public static final String NAME = "jdbc";
+
+    // header columns are JSONB on PostgreSQL and JSON on H2 (see V008) - the JSON text is converted by the server;
+    // H2 would cast the text to a JSON string, FORMAT JSON parses it instead
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, %1$s, ?, ?, %1$s, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final Map<String, String> JSON_PARAMETERS = Map.of(
+            "PostgreSQL", "?::jsonb",
+            "H2", "? FORMAT JSON");
+
+    private final JdbcTemplate jdbcTemplate;
+    // insert statement for the configured database (empty if it is not supported), resolved on first use
+    private volatile Optional<String> insertSql;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isSupported() {
+        try {
+            return insertSql().isPresent();
+        } catch (DataAccessException e) {
+            log.warn("Could not determine whether JDBC batch writer is supported by the database", e);
+            return false;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void write(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+        String sql = insertSql().orElseThrow(() -> new IllegalStateException("JDBC audit log writer is not supported by the database"));
+        jdbcTemplate.batchUpdate(sql, auditLogs, auditLogs.size(), (ps, a) -> {
+            ps.setString(1, a.getRequestId());
+            ps.setString(2, a.getApiName());
+            ps.setString(3, a.getMethod());
+            ps.setString(4, a.getUrl());
+            ps.setString(5, a.getRequestHeaders());
+            ps.setString(6, a.getRequestBody());
+            ps.setObject(7, a.getResponseStatus(), Types.INTEGER);
+            ps.setString(8, a.getResponseHeaders());
+            ps.setString(9, a.getResponseBody());
+            ps.setObject(10, a.getExecutionTimeMs(), Types.BIGINT);
+            ps.setBoolean(11, Boolean.TRUE.equals(a.getSuccess()));
+            ps.setString(12, a.getErrorMessage());
+            ps.setString(13, a.getExceptionName());
+            ps.setString(14, a.getCorrelationId());
+            ps.setString(15, a.getUserId());
+            ps.setTimestamp(16, Timestamp.valueOf(a.getCreatedAt()));
+            ps.setObject(17, a.getResponseSizeBytes(), Types.BIGINT);
+            ps.setObject(18, a.getResponseCompressedSizeBytes(), Types.BIGINT);
+        });
+    }
+
+    private Optional<String> insertSql() {
+        if (insertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            insertSql = Optional.ofNullable(JSON_PARAMETERS.get(product)).map(INSERT_SQL::formatted);
+        }
+        return insertSql;
+    }
+}
@@ -0,0 +1,41 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.repository.AuditLogRepository;
+import cz.csas.eligibility.service.AuditLogWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * AuditLogWriter saving audit logs through Hibernate. Works against any database (used for H2 and in tests).
+ */
+@Component
+@RequiredArgsConstructor
+@UseDataSourcePool(DataSourcePool.AUDIT)
+public class JpaAuditLogWriter implements AuditLogWriter {
+
+    public static final String NAME = "jpa";
+
+    private final AuditLogRepository auditLogRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void write(List<AuditLog> auditLogs) {
+        auditLogRepository.saveAll(auditLogs);
+    }
+}
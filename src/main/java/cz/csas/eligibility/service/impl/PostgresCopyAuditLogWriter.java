@@ -0,0 +1,122 @@
+package cz.csas.eligibility.service.impl;
+
+import cz.csas.eligibility.config.datasource.DataSourcePool;
+import cz.csas.eligibility.config.datasource.UseDataSourcePool;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.service.AuditLogWriter;
+import cz.csas.eligibility.utils.CopyTextEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * AuditLogWriter streaming batches into audit_logs with PostgreSQL COPY FROM STDIN (driver's CopyManager).
+ * Rows are encoded directly from the AuditLog records, Hibernate is not involved at all.
+ * Supported only when the datasource points to PostgreSQL.
+ */
+@Component
+@Slf4j
+@UseDataSourcePool(DataSourcePool.AUDIT)
+public class PostgresCopyAuditLogWriter implements AuditLogWriter {
+
+    public static final String NAME = "copy";
+
+    private static final String COPY_SQL = "COPY audit_logs (" + COLUMNS + ") FROM STDIN";
+
+    // encoded rows are sent to the server whenever the buffer exceeds this size
+    private static final int FLUSH_THRESHOLD_BYTES = 64 * 1024;
+
+    private final DataSource dataSource;
+    private volatile Boolean supported;
+
+    public PostgresCopyAuditLogWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isSupported() {
+        if (supported == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                supported = connection.isWrapperFor(PGConnection.class)
+                        && "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (SQLException e) {
+                log.warn("Could not determine whether COPY protocol is supported by the database", e);
+                return false;
+            }
+        }
+        return supported;
+    }
+
+    @Override
+    @Transactional
+    public void write(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+
+        // connection bound to the current transaction (if any) is reused
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                CopyTextEncoder encoder = new CopyTextEncoder(FLUSH_THRESHOLD_BYTES + 8 * 1024);
+                for (AuditLog auditLog : auditLogs) {
+                    encodeRow(auditLog, encoder);
+                    if (encoder.size() >= FLUSH_THRESHOLD_BYTES) {
+                        copyIn.writeToCopy(encoder.buffer(), 0, encoder.size());
+                        encoder.reset();
+                    }
+                }
+                if (encoder.size() > 0) {
+                    copyIn.writeToCopy(encoder.buffer(), 0, encoder.size());
+                }
+                long rows = copyIn.endCopy();
+                log.debug("COPY wrote {} audit logs", rows);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("COPY of " + auditLogs.size() + " audit logs failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void encodeRow(AuditLog a, CopyTextEncoder encoder) {
+        encoder.text(a.getRequestId())
+                .text(a.getApiName())
+                .text(a.getMethod())
+                .text(a.getUrl())
+                .text(a.getRequestHeaders())
+                .text(a.getRequestBody())
+                .number(a.getResponseStatus())
+                .text(a.getResponseHeaders())
+                .text(a.getResponseBody())
+                .number(a.getExecutionTimeMs())
+                .bool(Boolean.TRUE.equals(a.getSuccess()))
+                .text(a.getErrorMessage())
+                .text(a.getExceptionName())
+                .text(a.getCorrelationId())
+                .text(a.getUserId())
+                .timestamp(a.getCreatedAt())
+                .number(a.getResponseSizeBytes())
+                .number(a.getResponseCompressedSizeBytes())
+                .endRow();
+    }
+}
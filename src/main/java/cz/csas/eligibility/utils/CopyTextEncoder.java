@@ -0,0 +1,196 @@
+package cz.csas.eligibility.utils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Encodes rows in PostgreSQL COPY text format (tab separated columns, \N for null, backslash escaping)
+ * straight into a reusable UTF-8 byte buffer, without creating intermediate Strings or byte arrays.
+ */
+public final class CopyTextEncoder {
+
+    private byte[] buffer;
+    private int size;
+    private boolean firstColumn = true;
+
+    public CopyTextEncoder(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 64)];
+    }
+
+    /**
+     * Appends text column; null is encoded as \N.
+     */
+    public CopyTextEncoder text(String value) {
+        separator();
+        if (value == null) {
+            return writeNull();
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writeEscaped((byte) '\\');
+                case '\t' -> writeEscaped((byte) 't');
+                case '\n' -> writeEscaped((byte) 'n');
+                case '\r' -> writeEscaped((byte) 'r');
+                default -> {
+                    if (c < 0x80) {
+                        ensureCapacity(1);
+                        buffer[size++] = (byte) c;
+                    } else if (c < 0x800) {
+                        ensureCapacity(2);
+                        buffer[size++] = (byte) (0xC0 | (c >> 6));
+                        buffer[size++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, value.charAt(++i));
+                        ensureCapacity(4);
+                        buffer[size++] = (byte) (0xF0 | (cp >> 18));
+                        buffer[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                        buffer[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                        buffer[size++] = (byte) (0x80 | (cp & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        // unpaired surrogate cannot be represented in UTF-8
+                        ensureCapacity(1);
+                        buffer[size++] = (byte) '?';
+                    } else {
+                        ensureCapacity(3);
+                        buffer[size++] = (byte) (0xE0 | (c >> 12));
+                        buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buffer[size++] = (byte) (0x80 | (c & 0x3F));
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends integer column; null is encoded as \N.
+     */
+    public CopyTextEncoder number(Number value) {
+        separator();
+        if (value == null) {
+            return writeNull();
+        }
+        writeLong(value.longValue());
+        return this;
+    }
+
+    /**
+     * Appends boolean column as t/f; null is encoded as \N.
+     */
+    public CopyTextEncoder bool(Boolean value) {
+        separator();
+        if (value == null) {
+            return writeNull();
+        }
+        ensureCapacity(1);
+        buffer[size++] = (byte) (value ? 't' : 'f');
+        return this;
+    }
+
+    /**
+     * Appends timestamp column in format yyyy-MM-dd HH:mm:ss.SSSSSS; null is encoded as \N.
+     */
+    public CopyTextEncoder timestamp(LocalDateTime value) {
+        separator();
+        if (value == null) {
+            return writeNull();
+        }
+        ensureCapacity(32);
+        writeLong(value.getYear());
+        buffer[size++] = '-';
+        writeTwoDigits(value.getMonthValue());
+        buffer[size++] = '-';
+        writeTwoDigits(value.getDayOfMonth());
+        buffer[size++] = ' ';
+        writeTwoDigits(value.getHour());
+        buffer[size++] = ':';
+        writeTwoDigits(value.getMinute());
+        buffer[size++] = ':';
+        writeTwoDigits(value.getSecond());
+        buffer[size++] = '.';
+        int micros = value.getNano() / 1000;
+        for (int divisor = 100000; divisor > 0; divisor /= 10) {
+            buffer[size++] = (byte) ('0' + (micros / divisor) % 10);
+        }
+        return this;
+    }
+
+    /**
+     * Terminates the current row.
+     */
+    public CopyTextEncoder endRow() {
+        ensureCapacity(1);
+        buffer[size++] = '\n';
+        firstColumn = true;
+        return this;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Clears the encoded content but keeps the allocated buffer for reuse.
+     */
+    public void reset() {
+        size = 0;
+        firstColumn = true;
+    }
+
+    private void separator() {
+        if (!firstColumn) {
+            ensureCapacity(1);
+            buffer[size++] = '\t';
+        }
+        firstColumn = false;
+    }
+
+    private CopyTextEncoder writeNull() {
+        writeEscaped((byte) 'N');
+        return this;
+    }
+
+    private void writeEscaped(byte b) {
+        ensureCapacity(2);
+        buffer[size++] = '\\';
+        buffer[size++] = b;
+    }
+
+    private void writeTwoDigits(int value) {
+        buffer[size++] = (byte) ('0' + value / 10);
+        buffer[size++] = (byte) ('0' + value % 10);
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(20);
+        if (value == 0) {
+            buffer[size++] = '0';
+            return;
+        }
+        if (value < 0) {
+            buffer[size++] = '-';
+        }
+        int start = size;
+        // digits are written in reverse order and then flipped (negative values are handled as negative remainders)
+        while (value != 0) {
+            buffer[size++] = (byte) ('0' + Math.abs(value % 10));
+            value /= 10;
+        }
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+}
@@ -1,24 +1,43 @@
 package cz.csas.eligibility.utils;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
-import java.time.Period;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Objects;
 
 public class DateUtils {
 
+    private static final int ADULT_AGE = 18;
+
+    // fallback for birth dates not in the fixed 10-character form (same pattern and resolution as before)
+    private static final DateTimeFormatter BIRTH_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // days from 0000-01-01 to 1970-01-01 (as in LocalDate.toEpochDay)
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    // latest birth date of an adult; replaced as a whole when the day changes in its zone
+    private static volatile AdultCutoff adultCutoff = AdultCutoff.at(System.currentTimeMillis(), ZoneId.systemDefault());
+
     /**
      * Function checks whether the client is adult or not.
+     * Client is adult when born on or before the same day 18 years ago (clients born on Feb 29 become adult on Mar 1
+     * in non-leap years), i.e. when Period.between(birthDate, today).getYears() >= 18.
      * @param birthDate is a string in format "yyyy-MM-dd" (e.g. 1954-07-04) with birth date of the client
      * @return boolean; true = is adult, false = is not adult
      */
     public static boolean isAdult (String birthDate) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        LocalDate dateOfBirth = LocalDate.parse(birthDate, formatter);
-        LocalDate today = LocalDate.now();
-        int age = Period.between(dateOfBirth, today).getYears();
-        return age >= 18;
+        return parseBirthDateToEpochDay(birthDate) <= adultCutoffEpochDay(System.currentTimeMillis());
+    }
+
+    /**
+     * Sets the time zone whose current date is used by isAdult() (system default zone if not set).
+     * @param zone time zone of the adulthood check
+     */
+    public static void setAdulthoodZone(ZoneId zone) {
+        adultCutoff = AdultCutoff.at(System.currentTimeMillis(), Objects.requireNonNull(zone));
     }
 
     /**
@@ -29,4 +48,92 @@ public class DateUtils {
     public static OffsetDateTime convertToSystemOffsetDateTime(LocalDateTime localDateTime) {
         return localDateTime == null ? null :localDateTime.atOffset(OffsetDateTime.now().getOffset());
     }
+
+    /**
+     * @return epoch day of the latest birth date of an adult at given time
+     */
+    static long adultCutoffEpochDay(long nowMillis) {
+        AdultCutoff cutoff = adultCutoff;
+        if (nowMillis >= cutoff.validUntilMillis() || nowMillis < cutoff.validFromMillis()) {
+            // day changed (or clock moved back) - racing threads compute the same value
+            cutoff = AdultCutoff.at(nowMillis, cutoff.zone());
+            adultCutoff = cutoff;
+        }
+        return cutoff.epochDay();
+    }
+
+    /**
+     * Parses "yyyy-MM-dd" without allocation. Day-of-month over the month length (up to 31) is resolved to the last day
+     * of the month like the SMART resolver of DateTimeFormatter does; other inputs are handed over to the formatter.
+     * @return epoch day of the birth date
+     * @throws java.time.format.DateTimeParseException if the birth date is invalid
+     */
+    static long parseBirthDateToEpochDay(String birthDate) {
+        Objects.requireNonNull(birthDate, "text");
+        if (birthDate.length() == 10 && birthDate.charAt(4) == '-' && birthDate.charAt(7) == '-') {
+            int year = digits(birthDate, 0, 4);
+            int month = digits(birthDate, 5, 7);
+            int day = digits(birthDate, 8, 10);
+            if (year > 0 && month >= 1 && month <= 12 && day >= 1 && day <= 31) {
+                return toEpochDay(year, month, Math.min(day, lengthOfMonth(year, month)));
+            }
+        }
+        return LocalDate.parse(birthDate, BIRTH_DATE_FORMATTER).toEpochDay();
+    }
+
+    /**
+     * @return value of ASCII digits in [from, to), -1 if there is another character
+     */
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // same arithmetic as LocalDate.toEpochDay for positive years
+    private static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Latest birth date of an adult (as epoch day) valid from the start of a day until the start of the next day in the zone.
+     */
+    private record AdultCutoff(ZoneId zone, long epochDay, long validFromMillis, long validUntilMillis) {
+
+        static AdultCutoff at(long nowMillis, ZoneId zone) {
+            LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(nowMillis), zone);
+            return new AdultCutoff(zone,
+                    today.minusYears(ADULT_AGE).toEpochDay(),
+                    today.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
 }
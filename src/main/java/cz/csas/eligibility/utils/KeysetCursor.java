@@ -0,0 +1,65 @@
+package cz.csas.eligibility.utils;
+
+import cz.csas.eligibility.exceptions.InvalidRequestParameterException;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque cursors for keyset pagination ordered by (timestamp DESC, id DESC).
+ */
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates cursor pointing right after the record with given timestamp and id.
+     * @param timestamp timestamp of the last returned record
+     * @param id        id of the last returned record
+     * @return url-safe cursor string
+     */
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts cursor into keyset scroll position.
+     * @param cursor            cursor created by encode(); null or blank means the first page
+     * @param timestampProperty name of the entity timestamp property used for ordering (e.g. checkedAt)
+     * @return ScrollPosition for Spring Data scroll queries
+     * @throws InvalidRequestParameterException if the cursor is malformed
+     */
+    public static ScrollPosition decode(String cursor, String timestampProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            LocalDateTime timestamp = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return ScrollPosition.forward(Map.of(timestampProperty, timestamp, "id", id));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestParameterException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Clamps requested page size into the allowed range.
+     * @param requested requested page size (may be null)
+     * @param defaultSize size used when nothing was requested
+     * @param maxSize   maximal allowed page size
+     * @return page size between 1 and maxSize
+     */
+    public static int pageSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(requested, maxSize));
+    }
+}
@@ -0,0 +1,160 @@
+package cz.csas.eligibility.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Mergeable latency histogram with log-linear buckets (values below 16 ms are exact, larger values have relative
+ * error at most 1/16). Two sketches are merged by adding bucket counts, so per-minute sketches can be combined
+ * into any coarser time window and still give percentiles.
+ */
+public final class LatencySketch {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+
+    /**
+     * Records one latency value; negative values are recorded as 0.
+     */
+    public LatencySketch record(long valueMs) {
+        counts[bucketIndex(Math.max(0, valueMs))]++;
+        count++;
+        return this;
+    }
+
+    /**
+     * Adds all values recorded by other sketch into this one.
+     */
+    public LatencySketch merge(LatencySketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns approximate value at given quantile.
+     * @param quantile quantile between 0 and 1 (e.g. 0.95)
+     * @return approximate value in ms or null if the sketch is empty
+     */
+    public Long quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketMidpoint(i);
+            }
+        }
+        return bucketMidpoint(BUCKETS - 1);
+    }
+
+    /**
+     * Serializes non-empty buckets as varint (index gap, count) pairs.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        out.write(FORMAT_VERSION);
+        int previous = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                writeVarLong(out, i - previous);
+                writeVarLong(out, counts[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserializes sketch created by toBytes(); null or empty input gives an empty sketch.
+     * @throws IllegalArgumentException if the input is malformed
+     */
+    public static LatencySketch fromBytes(byte[] bytes) {
+        LatencySketch sketch = new LatencySketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported latency sketch format: " + bytes[0]);
+        }
+        int[] position = {1};
+        int index = -1;
+        while (position[0] < bytes.length) {
+            index += (int) readVarLong(bytes, position);
+            long bucketCount = readVarLong(bytes, position);
+            if (index < 0 || index >= BUCKETS) {
+                throw new IllegalArgumentException("Latency sketch bucket out of range: " + index);
+            }
+            sketch.counts[index] += bucketCount;
+            sketch.count += bucketCount;
+        }
+        return sketch;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated latency sketch");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed latency sketch varint");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LatencySketch other && count == other.count && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+}
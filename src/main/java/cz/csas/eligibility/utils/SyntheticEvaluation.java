@@ -0,0 +1,29 @@
+package cz.csas.eligibility.utils;
+
+/**
+ * Marks synthetic eligibility evaluations of the warm-up (see EligibilityWarmup) on the thread which runs them:
+ * their downstream calls are answered by stub responses and their results are neither stored nor counted in the stats.
+ */
+public class SyntheticEvaluation {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    /**
+     * Runs the evaluation as synthetic on the current thread.
+     */
+    public static void run(Runnable evaluation) {
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            evaluation.run();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    /**
+     * @return true if the current thread runs a synthetic evaluation
+     */
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+}
@@ -0,0 +1,62 @@
+package cz.csas.eligibility.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generator of time-ordered UUIDs in the UUIDv7 layout (RFC 9562):
+ * 48 bits of unix epoch milliseconds, version 7, 12 bits of per-thread counter, variant 2 and 62 random bits.
+ * Random bits come from ThreadLocalRandom (no SecureRandom contention like UUID.randomUUID()); ids generated by one thread
+ * are strictly increasing and ids of all threads are roughly ordered by time, so inserts into an index on them stay local.
+ * The ids are not unpredictable - do not use them as secrets or tokens.
+ */
+public class TimeOrderedUuid {
+
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    /**
+     * @return new UUIDv7
+     */
+    public static UUID next() {
+        State state = STATE.get();
+        long now = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (now > state.millis) {
+            state.millis = now;
+            // counter starts in the lower half so that increments within the same millisecond rarely overflow
+            state.counter = random.nextInt(COUNTER_MAX >> 1);
+        } else if (state.counter < COUNTER_MAX) {
+            // same millisecond (or clock moved back) - keep increasing within the last used millisecond
+            state.counter++;
+        } else {
+            // counter exhausted - borrow the next millisecond
+            state.millis++;
+            state.counter = 0;
+        }
+        long msb = (state.millis << 16) | (7L << COUNTER_BITS) | state.counter;
+        long lsb = (random.nextLong() >>> 2) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * @return new UUIDv7 in the canonical 36-character form
+     */
+    public static String nextString() {
+        return next().toString();
+    }
+
+    /**
+     * @return unix epoch milliseconds encoded in given UUIDv7
+     */
+    public static long extractMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static final class State {
+        private long millis;
+        private int counter;
+    }
+}
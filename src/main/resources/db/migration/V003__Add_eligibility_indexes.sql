@@ -0,0 +1,4 @@
+-- Indexes for eligibility history lookups, newest records first (id breaks ties of checked_at for keyset pagination)
+CREATE INDEX idx_eligibility_client_id_checked_at ON eligibility(client_id, checked_at DESC, id DESC);
+CREATE INDEX idx_eligibility_correlation_id_checked_at ON eligibility(correlation_id, checked_at DESC, id DESC);
+CREATE INDEX idx_eligibility_result_checked_at ON eligibility(result, checked_at DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Composite index for queries/exports by api name and time range (replaces the single column api_name index)
+CREATE INDEX idx_audit_logs_api_name_created_at ON audit_logs(api_name, created_at);
+DROP INDEX idx_audit_logs_api_name;
@@ -0,0 +1,11 @@
+-- Per-minute statistics of API calls maintained incrementally by the audit log writer (dashboards do not scan audit_logs)
+CREATE TABLE audit_rollup_minute (
+    api_name VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    call_count BIGINT NOT NULL DEFAULT 0,
+    failure_count BIGINT NOT NULL DEFAULT 0,
+    latency_sum_ms BIGINT NOT NULL DEFAULT 0,
+    latency_max_ms BIGINT NOT NULL DEFAULT 0,
+    latency_sketch BYTEA,
+    PRIMARY KEY (api_name, bucket_start)
+);
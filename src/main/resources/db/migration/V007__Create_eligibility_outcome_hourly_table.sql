@@ -0,0 +1,9 @@
+-- Hourly counts of eligibility outcomes flushed from in-memory counters (reports do not scan eligibility table)
+-- reasons holds sorted comma separated reasons of NOT_ELIGIBLE outcome, empty string for other outcomes
+CREATE TABLE eligibility_outcome_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    result VARCHAR(20) NOT NULL,
+    reasons VARCHAR(100) NOT NULL DEFAULT '',
+    outcome_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, result, reasons)
+);
@@ -0,0 +1,4 @@
+-- Sizes of downstream response bodies: bytes read by the application (uncompressed) and bytes read from the connection
+-- when the response was gzip compressed (NULL otherwise and for REST API calls)
+ALTER TABLE audit_logs ADD COLUMN response_size_bytes BIGINT;
+ALTER TABLE audit_logs ADD COLUMN response_compressed_size_bytes BIGINT;
@@ -0,0 +1,3 @@
+-- Index for the cache warm-up lookup of recently active clients (range of checked_at, grouped by client_id);
+-- client_id makes it covering, the existing indexes lead with other columns
+CREATE INDEX idx_eligibility_checked_at_client_id ON eligibility(checked_at, client_id);
@@ -0,0 +1,102 @@
+package cz.csas.eligibility.benchmark;
+
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.service.AuditLogWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares rows per second written by the audit log writer backends (JPA save, JDBC batch, COPY).
+ * Runs only when a database is provided, e.g.:
+ * <pre>
+ * mvn test -Dtest=AuditLogWriterBenchmark -Dbenchmark.db.url=jdbc:postgresql://localhost:5433/case_study \
+ *     -Dbenchmark.db.username=orders -Dbenchmark.db.password=Passw0rd#1
+ * </pre>
+ * Optional: -Dbenchmark.rows (default 100000), -Dbenchmark.batch-size (default 500).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.db.url", matches = ".+")
+class AuditLogWriterBenchmark {
+
+    private static final String API_NAME = "WriterBenchmark";
+
+    @Autowired
+    private List<AuditLogWriter> writers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("benchmark.db.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("benchmark.db.username", "orders"));
+        registry.add("spring.datasource.password", () -> System.getProperty("benchmark.db.password", ""));
+        registry.add("spring.datasource.driver-class-name", () -> System.getProperty("benchmark.db.url").startsWith("jdbc:postgresql")
+                ? "org.postgresql.Driver" : "org.h2.Driver");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void compareWriters() {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+        int batchSize = Integer.getInteger("benchmark.batch-size", 500);
+
+        for (AuditLogWriter writer : writers) {
+            if (!writer.isSupported()) {
+                System.out.printf("%-5s skipped (not supported by the database)%n", writer.getName());
+                continue;
+            }
+            // warm-up round is not measured
+            run(writer, Math.min(rows / 10, 10_000), batchSize);
+            long elapsedNanos = run(writer, rows, batchSize);
+            System.out.printf("%-5s %,d rows in %,d ms => %,.0f rows/s%n",
+                    writer.getName(), rows, elapsedNanos / 1_000_000, rows / (elapsedNanos / 1e9));
+        }
+    }
+
+    private long run(AuditLogWriter writer, int rows, int batchSize) {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE api_name = ?", API_NAME);
+        long elapsed = 0;
+        for (int written = 0; written < rows; written += batchSize) {
+            List<AuditLog> batch = createBatch(Math.min(batchSize, rows - written));
+            long start = System.nanoTime();
+            writer.write(batch);
+            elapsed += System.nanoTime() - start;
+        }
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE api_name = ?", API_NAME);
+        return elapsed;
+    }
+
+    private static List<AuditLog> createBatch(int size) {
+        List<AuditLog> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(AuditLog.builder()
+                    .requestId(UUID.randomUUID().toString())
+                    .apiName(API_NAME)
+                    .method("GET")
+                    .url("https://accounts.cluster.domain.cz/list")
+                    .requestHeaders("[clientId:\"1234-56-78-90.12.34.567890\"; correlation-id:\"57fe7696-6151-4ecc-ab8b-8840e3872185\"]")
+                    .requestBody("{\"clientId\":\"1234-56-78-90.12.34.567890\"}")
+                    .responseStatus(200)
+                    .responseHeaders("[Content-Type:\"application/json\"]")
+                    .responseBody("{\"client\":{\"forename\":\"John\",\"surname\":\"Doe\"},\"accounts\":[{\"iban\":\"CZ3908000000000735147003\"}]}")
+                    .executionTimeMs(42L)
+                    .success(true)
+                    .correlationId("57fe7696-6151-4ecc-ab8b-8840e3872185")
+                    .userId("SYSTEM")
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return batch;
+    }
+}
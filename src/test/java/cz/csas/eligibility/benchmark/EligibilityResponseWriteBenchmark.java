@@ -0,0 +1,109 @@
+package cz.csas.eligibility.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.config.EligibilityResponseHttpMessageConverter;
+import cz.csas.eligibility.model.GetEligibilityResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Compares writing of GetEligibilityResponse bodies by the Jackson converter (previous ResponseEntity path)
+ * and by EligibilityResponseHttpMessageConverter (bytes serialized at startup): writes per second and bytes allocated per write.
+ * The four response shapes are written in turn into a reused output message, so only the converters are measured.
+ * <pre>
+ * mvn test -Dtest=EligibilityResponseWriteBenchmark -Dbenchmark.eligibility-response=true
+ * </pre>
+ * Optional: -Dbenchmark.writes (default 1000000).
+ */
+@EnabledIfSystemProperty(named = "benchmark.eligibility-response", matches = "true")
+class EligibilityResponseWriteBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareConverters() throws Exception {
+        int writes = Integer.getInteger("benchmark.writes", 1_000_000);
+        ObjectMapper objectMapper = new ObjectMapper();
+        MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        EligibilityResponseHttpMessageConverter precomputed = new EligibilityResponseHttpMessageConverter(objectMapper);
+        List<GetEligibilityResponse> responses = List.of(
+                new GetEligibilityResponse().eligible(true),
+                new GetEligibilityResponse().eligible(false).addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT),
+                new GetEligibilityResponse().eligible(false).addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ADULT),
+                new GetEligibilityResponse().eligible(false).addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT)
+                        .addReasonsItem(GetEligibilityResponse.ReasonsEnum.NO_ADULT));
+
+        // warm-up round is not measured
+        for (int round = 0; round < 2; round++) {
+            long jacksonResult = measure(writes, responses, jackson);
+            long precomputedResult = measure(writes, responses, precomputed);
+            if (round == 1) {
+                System.out.printf("Jackson converter: %,.0f writes/s, precomputed bytes: %,.0f writes/s%n",
+                        writes / (jacksonResult / 1e9), writes / (precomputedResult / 1e9));
+            }
+        }
+        long baselineBytes = allocatedBytes(writes, responses, null);
+        System.out.printf("Jackson converter: %,d B/write, precomputed bytes: %,d B/write%n",
+                (allocatedBytes(writes, responses, jackson) - baselineBytes) / writes,
+                (allocatedBytes(writes, responses, precomputed) - baselineBytes) / writes);
+    }
+
+    private static long measure(int writes, List<GetEligibilityResponse> responses,
+                                HttpMessageConverter<? super GetEligibilityResponse> converter) throws Exception {
+        long start = System.nanoTime();
+        write(writes, responses, converter);
+        return System.nanoTime() - start;
+    }
+
+    private static long allocatedBytes(int writes, List<GetEligibilityResponse> responses,
+                                       HttpMessageConverter<? super GetEligibilityResponse> converter) throws Exception {
+        long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        write(writes, responses, converter);
+        return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Without converter only the output message is reset (subtracted from the allocation results).
+     */
+    private static void write(int writes, List<GetEligibilityResponse> responses,
+                              HttpMessageConverter<? super GetEligibilityResponse> converter) throws Exception {
+        ReusableOutputMessage message = new ReusableOutputMessage();
+        for (int i = 0; i < writes; i++) {
+            message.reset();
+            if (converter != null) {
+                converter.write(responses.get(i & 3), MediaType.APPLICATION_JSON, message);
+            }
+        }
+    }
+
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        void reset() {
+            headers.clear();
+            body.reset();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
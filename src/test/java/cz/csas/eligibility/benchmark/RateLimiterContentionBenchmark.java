@@ -0,0 +1,84 @@
+package cz.csas.eligibility.benchmark;
+
+import cz.csas.eligibility.config.ratelimit.RateLimitKey;
+import cz.csas.eligibility.config.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures RateLimiter.tryAcquire() with all threads at once: every thread hitting the same key (worst case CAS
+ * contention) and threads spread over many keys (typical traffic). The cost per request is to be compared with
+ * the latency of the eligibility endpoint (milliseconds).
+ * <pre>
+ * mvn test -Dtest=RateLimiterContentionBenchmark -Dbenchmark.rate-limit=true
+ * </pre>
+ * Optional: -Dbenchmark.threads (default number of CPUs), -Dbenchmark.requests (per thread, default 2000000).
+ */
+@EnabledIfSystemProperty(named = "benchmark.rate-limit", matches = "true")
+class RateLimiterContentionBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    // prevents the JIT from eliminating unused decisions
+    private static volatile int sink;
+
+    @Test
+    void measureTryAcquire() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+        int requests = Integer.getInteger("benchmark.requests", 2_000_000);
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "client-" + i;
+        }
+
+        // warm-up round is not measured; rate is high enough that the buckets are not exhausted
+        for (int round = 0; round < 2; round++) {
+            long sameKey = run(threads, requests, new RateLimiter(RateLimitKey.CLIENT, 1e9, 1_000_000, KEYS * 2), keys, true);
+            long manyKeys = run(threads, requests, new RateLimiter(RateLimitKey.CLIENT, 1e9, 1_000_000, KEYS * 2), keys, false);
+            if (round == 1) {
+                long total = (long) threads * requests;
+                System.out.printf("%d threads: same key %,.0f req/s (%.0f ns/req), %d keys %,.0f req/s (%.0f ns/req)%n",
+                        threads, total / (sameKey / 1e9), (double) sameKey * threads / total,
+                        KEYS, total / (manyKeys / 1e9), (double) manyKeys * threads / total);
+            }
+        }
+    }
+
+    private static long run(int threads, int requests, RateLimiter limiter, String[] keys, boolean sameKey) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 7919;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < requests; i++) {
+                        String key = sameKey ? keys[0] : keys[(offset + i) % keys.length];
+                        if (limiter.tryAcquire(key, System.nanoTime()).allowed()) {
+                            allowed++;
+                        }
+                    }
+                    sink = allowed;
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
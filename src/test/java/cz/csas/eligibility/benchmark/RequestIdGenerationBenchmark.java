@@ -0,0 +1,73 @@
+package cz.csas.eligibility.benchmark;
+
+import cz.csas.eligibility.utils.TimeOrderedUuid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Compares audit request ids generated per second by UUID.randomUUID() (SecureRandom) and TimeOrderedUuid
+ * with all threads generating at once.
+ * <pre>
+ * mvn test -Dtest=RequestIdGenerationBenchmark -Dbenchmark.request-id=true
+ * </pre>
+ * Optional: -Dbenchmark.threads (default number of CPUs), -Dbenchmark.ids (per thread, default 1000000).
+ */
+@EnabledIfSystemProperty(named = "benchmark.request-id", matches = "true")
+class RequestIdGenerationBenchmark {
+
+    // prevents the JIT from eliminating unused ids
+    private static volatile int sink;
+
+    @Test
+    void compareGenerators() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+        int ids = Integer.getInteger("benchmark.ids", 1_000_000);
+
+        // warm-up round is not measured
+        for (int round = 0; round < 2; round++) {
+            long random = run(threads, ids, () -> UUID.randomUUID().toString());
+            long timeOrdered = run(threads, ids, TimeOrderedUuid::nextString);
+            if (round == 1) {
+                long total = (long) threads * ids;
+                System.out.printf("%d threads: UUID.randomUUID %,.0f ids/s, TimeOrderedUuid %,.0f ids/s%n",
+                        threads, total / (random / 1e9), total / (timeOrdered / 1e9));
+            }
+        }
+    }
+
+    private static long run(int threads, int ids, Supplier<String> generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int hash = 0;
+                    for (int i = 0; i < ids; i++) {
+                        hash += generator.get().hashCode();
+                    }
+                    sink = hash;
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cz.csas.eligibility.benchmark;
+
+import cz.csas.eligibility.utils.TimeOrderedUuid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares inserts into a B-tree indexed request_id column (like idx_audit_logs_request_id) with random UUIDv4
+ * and time-ordered UUIDv7 ids. Random ids touch pages all over the index (page splits, cache misses), time-ordered ids
+ * are appended at its right edge. On PostgreSQL the resulting index size is reported as well.
+ * Runs only when a database is provided, e.g.:
+ * <pre>
+ * mvn test -Dtest=RequestIdIndexBenchmark -Dbenchmark.db.url=jdbc:postgresql://localhost:5433/case_study \
+ *     -Dbenchmark.db.username=orders -Dbenchmark.db.password=Passw0rd#1
+ * </pre>
+ * Optional: -Dbenchmark.rows (default 1000000), -Dbenchmark.batch-size (default 1000).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark.db.url", matches = ".+")
+class RequestIdIndexBenchmark {
+
+    private static final String TABLE = "request_id_index_benchmark";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("benchmark.db.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("benchmark.db.username", "orders"));
+        registry.add("spring.datasource.password", () -> System.getProperty("benchmark.db.password", ""));
+        registry.add("spring.datasource.driver-class-name", () -> System.getProperty("benchmark.db.url").startsWith("jdbc:postgresql")
+                ? "org.postgresql.Driver" : "org.h2.Driver");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void compareInserts() {
+        int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        int batchSize = Integer.getInteger("benchmark.batch-size", 1000);
+
+        // warm-up round is not measured
+        run(Math.min(rows / 10, 50_000), batchSize, () -> UUID.randomUUID().toString());
+        report("UUIDv4 (random)", rows, run(rows, batchSize, () -> UUID.randomUUID().toString()));
+        report("UUIDv7 (time-ordered)", rows, run(rows, batchSize, TimeOrderedUuid::nextString));
+    }
+
+    private Result run(int rows, int batchSize, Supplier<String> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (request_id VARCHAR(36) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + TABLE + " ON " + TABLE + "(request_id)");
+        try {
+            long elapsed = 0;
+            for (int written = 0; written < rows; written += batchSize) {
+                List<Object[]> batch = new ArrayList<>(batchSize);
+                for (int i = 0; i < Math.min(batchSize, rows - written); i++) {
+                    batch.add(new Object[]{ids.get()});
+                }
+                long start = System.nanoTime();
+                jdbcTemplate.batchUpdate("INSERT INTO " + TABLE + " (request_id) VALUES (?)", batch);
+                elapsed += System.nanoTime() - start;
+            }
+            return new Result(elapsed, indexSizeBytes());
+        } finally {
+            jdbcTemplate.execute("DROP TABLE " + TABLE);
+        }
+    }
+
+    private Long indexSizeBytes() {
+        if (!System.getProperty("benchmark.db.url").startsWith("jdbc:postgresql")) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject("SELECT pg_relation_size('idx_" + TABLE + "')", Long.class);
+    }
+
+    private static void report(String name, int rows, Result result) {
+        System.out.printf("%-22s %,d rows in %,d ms => %,.0f rows/s%s%n",
+                name, rows, result.elapsedNanos / 1_000_000, rows / (result.elapsedNanos / 1e9),
+                result.indexBytes != null ? String.format(", index %,d kB", result.indexBytes / 1024) : "");
+    }
+
+    private record Result(long elapsedNanos, Long indexBytes) {
+    }
+}
@@ -0,0 +1,104 @@
+package cz.csas.eligibility.benchmark;
+
+import cz.csas.eligibility.config.auditlogs.AuditHeaderCapture;
+import cz.csas.eligibility.config.auditlogs.RestApiAuditFilter;
+import cz.csas.eligibility.service.AuditLogService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Measures bytes allocated per audited request by the body capture of RestApiAuditFilter, compared with the
+ * previous ContentCaching wrappers (preload + whole body String + truncation + copyBodyToResponse).
+ * Allocation of the mock request/response and of the chain is subtracted from the legacy numbers; the filter running on an
+ * excluded path (audit log without bodies) is subtracted from the current numbers, so both show the body capture only.
+ * <pre>
+ * mvn test -Dtest=RestApiAuditFilterAllocationBenchmark -Dbenchmark.allocation=true
+ * </pre>
+ * Optional: -Dbenchmark.requests (default 20000), -Dbenchmark.response-bytes (default 4096).
+ */
+@EnabledIfSystemProperty(named = "benchmark.allocation", matches = "true")
+class RestApiAuditFilterAllocationBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final String URI = "/api/v1/eligibility";
+
+    private final AuditLogService auditLogService = CompletableFuture::completedFuture;
+
+    @Test
+    void compareAllocationPerRequest() throws Exception {
+        int requests = Integer.getInteger("benchmark.requests", 20_000);
+        byte[] responseBody = "x".repeat(Integer.getInteger("benchmark.response-bytes", 4096)).getBytes(StandardCharsets.UTF_8);
+        byte[] postBody = "{\"clientId\":\"1234-56-78-90.12.34.567890\"}".getBytes(StandardCharsets.UTF_8);
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            res.getOutputStream().write(responseBody);
+        };
+        AuditHeaderCapture headerCapture = new AuditHeaderCapture(List.of("correlation-id", "content-type"), List.of(), 4);
+        RestApiAuditFilter filter = new RestApiAuditFilter(auditLogService, headerCapture, List.of(), 10_000, 64);
+        RestApiAuditFilter filterWithoutCapture = new RestApiAuditFilter(auditLogService, headerCapture, List.of(URI), 10_000, 64);
+
+        for (String method : List.of("GET", "POST")) {
+            byte[] requestBody = method.equals("GET") ? new byte[0] : postBody;
+            // warm-up rounds are not measured
+            for (int round = 0; round < 2; round++) {
+                long baseline = measure(requests, requestBody, method, (req, res) -> chain.doFilter(req, res));
+                long legacy = measure(requests, requestBody, method, (req, res) -> legacyCapture(req, res, chain)) - baseline;
+                long current = measure(requests, requestBody, method, (req, res) -> filter.doFilter(req, res, chain))
+                        - measure(requests, requestBody, method, (req, res) -> filterWithoutCapture.doFilter(req, res, chain));
+                if (round == 1) {
+                    System.out.printf("%-4s ContentCaching wrappers: %,d B/request, capturing wrappers: %,d B/request%n",
+                            method, legacy / requests, current / requests);
+                }
+            }
+        }
+    }
+
+    private static long measure(int requests, byte[] requestBody, String method, Handler handler) throws Exception {
+        long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < requests; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, URI);
+            if (requestBody.length > 0) {
+                request.setContent(requestBody);
+            }
+            handler.handle(request, new MockHttpServletResponse());
+        }
+        return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Body handling of the previous filter implementation (without audit log creation, which did not change).
+     */
+    private static void legacyCapture(MockHttpServletRequest request, MockHttpServletResponse response, FilterChain chain) throws Exception {
+        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        byte[] preload = new byte[Math.max(requestWrapper.getContentLength(), 0)];
+        if (preload.length > 0) {
+            requestWrapper.getInputStream().read(preload);
+        }
+        chain.doFilter(requestWrapper, responseWrapper);
+        truncate(new String(requestWrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        truncate(new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static String truncate(String body) {
+        return body.length() > 10000 ? body.substring(0, 10000) + "... [TRUNCATED]" : body;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception;
+    }
+}
@@ -0,0 +1,46 @@
+package cz.csas.eligibility.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.model.GetEligibilityResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EligibilityResponseHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void precomputedBodiesMatchJacksonSerialization() throws Exception {
+        EligibilityResponseHttpMessageConverter converter = new EligibilityResponseHttpMessageConverter(objectMapper);
+
+        for (GetEligibilityResponse outcome : EligibilityResponseHttpMessageConverter.outcomes()) {
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+            converter.write(copyOf(outcome), MediaType.APPLICATION_JSON, message);
+
+            assertThat(message.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(outcome));
+            assertThat(message.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(message.getHeaders().getContentLength()).isEqualTo(message.getBodyAsBytes().length);
+        }
+    }
+
+    @Test
+    void otherShapeIsSerializedByJackson() throws Exception {
+        EligibilityResponseHttpMessageConverter converter = new EligibilityResponseHttpMessageConverter(objectMapper);
+        GetEligibilityResponse reversedReasons = new GetEligibilityResponse().eligible(false)
+                .reasons(List.of(GetEligibilityResponse.ReasonsEnum.NO_ADULT, GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT));
+
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(reversedReasons, MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getBodyAsString()).isEqualTo("{\"eligible\":false,\"reasons\":[\"NO_ADULT\",\"NO_ACCOUNT\"]}");
+    }
+
+    private static GetEligibilityResponse copyOf(GetEligibilityResponse response) {
+        return new GetEligibilityResponse().eligible(response.getEligible()).reasons(List.copyOf(response.getReasons()));
+    }
+}
@@ -0,0 +1,177 @@
+package cz.csas.eligibility.config;
+
+import cz.csas.eligibility.config.auditlogs.ExternalApiAuditInterceptor;
+import cz.csas.eligibility.config.warmup.WarmupStubInterceptor;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Downstream calls over the HTTP/2 transport against a local Tomcat stub (h2c upgrade over plain http).
+ */
+class ExternalApiHttp2Test {
+
+    @TempDir
+    Path baseDir;
+
+    private Tomcat tomcat;
+    private final Set<String> protocols = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long responseDelayMs;
+
+    @AfterEach
+    void stopServer() throws Exception {
+        if (tomcat != null) {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    @Test
+    void multiplexesConcurrentCallsOverOneConnection() throws Exception {
+        String url = startServer(true);
+        RestTemplate restTemplate = restTemplate(HttpClient.Version.HTTP_2, 4, 5_000);
+
+        // first call upgrades the connection to h2c
+        assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("ok");
+        protocols.clear();
+        clientPorts.clear();
+
+        responseDelayMs = 100;
+        List<String> responses = callConcurrently(restTemplate, url, 16);
+
+        assertThat(responses).hasSize(16).containsOnly("ok");
+        assertThat(protocols).containsExactly("HTTP/2.0");
+        assertThat(clientPorts).hasSize(1);
+        // stream limit of the client
+        assertThat(maxInFlight.get()).isBetween(2, 4);
+    }
+
+    @Test
+    void fallsBackToHttp11WithoutHttp2Support() throws Exception {
+        String url = startServer(false);
+        RestTemplate restTemplate = restTemplate(HttpClient.Version.HTTP_2, 4, 5_000);
+
+        assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("ok");
+        assertThat(restTemplate.getForObject(url, String.class)).isEqualTo("ok");
+
+        assertThat(protocols).containsExactly("HTTP/1.1");
+    }
+
+    @Test
+    void failsCallWaitingTooLongForStream() throws Exception {
+        String url = startServer(true);
+        RestTemplate restTemplate = restTemplate(HttpClient.Version.HTTP_2, 1, 50);
+        responseDelayMs = 1_000;
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> restTemplate.getForObject(url, String.class));
+            while (inFlight.get() == 0) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> restTemplate.getForObject(url, String.class))
+                    .isInstanceOf(ResourceAccessException.class)
+                    .hasMessageContaining("No free HTTP stream");
+            assertThat(first.get()).isEqualTo("ok");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private RestTemplate restTemplate(HttpClient.Version version, int maxConcurrentStreams, long streamAcquireTimeoutMs) throws IOException {
+        // audit interceptor only passes the call through
+        ExternalApiAuditInterceptor auditInterceptor = mock(ExternalApiAuditInterceptor.class);
+        when(auditInterceptor.intercept(any(), any(), any())).thenAnswer(invocation ->
+                invocation.getArgument(2, ClientHttpRequestExecution.class)
+                        .execute(invocation.getArgument(0), invocation.getArgument(1)));
+        ExternalApiConfig config = new ExternalApiConfig(auditInterceptor, new WarmupStubInterceptor(
+                new ByteArrayResource(new byte[0]), new ByteArrayResource(new byte[0])));
+        return config.restTemplate(config.externalApiRequestFactory(version), version, maxConcurrentStreams, streamAcquireTimeoutMs,
+                new MockEnvironment());
+    }
+
+    private List<String> callConcurrently(RestTemplate restTemplate, String url, int calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                futures.add(executor.submit(() -> restTemplate.getForObject(url, String.class)));
+            }
+            List<String> responses = new ArrayList<>();
+            for (Future<String> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String startServer(boolean h2c) throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        if (h2c) {
+            connector.addUpgradeProtocol(new Http2Protocol());
+        }
+        tomcat.getService().addConnector(connector);
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "stub", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                protocols.add(request.getProtocol());
+                clientPorts.add(request.getRemotePort());
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(responseDelayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                response.setContentType("text/plain");
+                response.getWriter().write("ok");
+            }
+        });
+        context.addServletMappingDecoded("/*", "stub");
+        tomcat.start();
+        return "http://localhost:" + connector.getLocalPort() + "/stub";
+    }
+}
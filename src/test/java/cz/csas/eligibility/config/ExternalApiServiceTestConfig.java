@@ -3,7 +3,6 @@ package cz.csas.eligibility.config;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
@@ -14,9 +13,7 @@ public class ExternalApiServiceTestConfig {
     @Bean
     @Primary
     public RestTemplate restTemplate() {
-        RestTemplate rt = new RestTemplate(
-                new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory())
-        );
+        RestTemplate rt = new RestTemplate(new SimpleClientHttpRequestFactory());
         return rt;
     }
 
@@ -0,0 +1,98 @@
+package cz.csas.eligibility.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class GzipResponseInterceptorTest {
+
+    private static final String ACCOUNTS_URL = "https://accounts.cluster.domain.cz/list";
+    private static final String CLIENTS_URL = "https://clients.cluster.domain.cz/client";
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {
+    };
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+
+    GzipResponseInterceptorTest() {
+        restTemplate.getInterceptors().add(new GzipResponseInterceptor(Set.of(ExternalApi.ACCOUNTS)));
+    }
+
+    @Test
+    void decompressesResponseOfEnabledApi() throws Exception {
+        server.expect(requestTo(ACCOUNTS_URL))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andRespond(withSuccess(gzip("{\"accounts\":[1,2,3]}"), MediaType.APPLICATION_JSON).headers(gzipHeaders()));
+
+        ResponseEntity<Map<String, Object>> response = getJsonObject(ACCOUNTS_URL);
+
+        assertThat(response.getBody()).containsEntry("accounts", List.of(1, 2, 3));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void passesUncompressedResponseThrough() {
+        server.expect(requestTo(ACCOUNTS_URL))
+                .andRespond(withSuccess("{\"accounts\":[]}", MediaType.APPLICATION_JSON));
+
+        assertThat(getJsonObject(ACCOUNTS_URL).getBody()).containsKey("accounts");
+    }
+
+    @Test
+    void handlesEmptyCompressedBody() {
+        server.expect(requestTo(ACCOUNTS_URL))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT).headers(gzipHeaders()));
+
+        assertThat(restTemplate.getForEntity(ACCOUNTS_URL, String.class).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    void doesNotAskOtherApisForCompression() {
+        server.expect(requestTo(CLIENTS_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.ACCEPT_ENCODING))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        getJsonObject(CLIENTS_URL);
+        server.verify();
+    }
+
+    private ResponseEntity<Map<String, Object>> getJsonObject(String url) {
+        return restTemplate.exchange(url, HttpMethod.GET, null, JSON_OBJECT);
+    }
+
+    private static HttpHeaders gzipHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return headers;
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+}
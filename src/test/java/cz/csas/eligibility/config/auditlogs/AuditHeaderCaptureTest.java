@@ -0,0 +1,48 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditHeaderCaptureTest {
+
+    private final AuditHeaderCapture capture = new AuditHeaderCapture(
+            List.of("Correlation-Id", "api-key", "x-note"), List.of("API-KEY"), 4);
+
+    @Test
+    void onlyAllowlistedRequestHeadersAreCapturedWithLowerCaseNames() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/eligibility");
+        request.addHeader("correlation-id", "corr-1");
+        request.addHeader("Authorization", "Bearer secret");
+
+        assertThat(capture.toJson(request)).isEqualTo("{\"correlation-id\":\"corr-1\"}");
+    }
+
+    @Test
+    void maskedHeaderKeepsPrefixAndRepeatedValuesAreJoined() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Api-Key", "accountsServerKey");
+        headers.add("x-note", "a");
+        headers.add("x-note", "b");
+
+        assertThat(capture.toJson(headers)).isEqualTo("{\"api-key\":\"acco***\",\"x-note\":\"a, b\"}");
+    }
+
+    @Test
+    void valuesAreJsonEscaped() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("x-note", "say \"hi\"\\\t");
+
+        assertThat(capture.toJson(response)).isEqualTo("{\"x-note\":\"say \\\"hi\\\"\\\\\\t\"}");
+    }
+
+    @Test
+    void noAllowlistedHeaderGivesEmptyObject() {
+        assertThat(capture.toJson(new HttpHeaders())).isEqualTo("{}");
+    }
+}
@@ -0,0 +1,104 @@
+package cz.csas.eligibility.config.auditlogs;
+
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.service.AuditLogService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestApiAuditFilterTest {
+
+    private final List<AuditLog> savedLogs = new ArrayList<>();
+    private final AuditLogService auditLogService = auditLog -> {
+        savedLogs.add(auditLog);
+        return CompletableFuture.completedFuture(auditLog);
+    };
+    private final RestApiAuditFilter filter = new RestApiAuditFilter(auditLogService,
+            new AuditHeaderCapture(List.of("correlation-id", "content-type"), List.of(), 4), List.of("/export"), 16, 4);
+
+    @Test
+    void bodilessGetIsNotWrappedAndResponseIsStreamedToClient() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/eligibility");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Object> seenRequests = new ArrayList<>();
+
+        FilterChain chain = (req, res) -> {
+            seenRequests.add(req);
+            res.setContentType("application/json");
+            res.getWriter().write("{\"eligible\":true}");
+        };
+        filter.doFilter(request, response, chain);
+
+        assertThat(seenRequests).containsExactly(request);
+        assertThat(response.getContentAsString()).isEqualTo("{\"eligible\":true}");
+        AuditLog log = savedLogs.get(0);
+        assertThat(log.getRequestBody()).isNull();
+        assertThat(log.getResponseBody()).isEqualTo("{\"eligible\":true" + BodyCapture.TRUNCATED_SUFFIX);
+    }
+
+    @Test
+    void truncatedBodyDoesNotEndInsideMultiByteCharacter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/eligibility");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // 'Š' takes bytes 15 and 16 of the 16 byte capture
+        FilterChain chain = (req, res) -> res.getOutputStream().write("{\"n\":\"aaaaaaaaaŠ\"}".getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(request, response, chain);
+
+        assertThat(savedLogs.get(0).getResponseBody()).isEqualTo("{\"n\":\"aaaaaaaaa" + BodyCapture.TRUNCATED_SUFFIX);
+    }
+
+    @Test
+    void requestBodyIsCapturedWhileReadAndUnreadRestIsCapturedAfterwards() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/something");
+        request.setContent("0123456789".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            byte[] firstBytes = new byte[4];
+            assertThat(req.getInputStream().read(firstBytes)).isEqualTo(4);
+            res.getOutputStream().write(firstBytes);
+        };
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo("0123");
+        AuditLog log = savedLogs.get(0);
+        assertThat(log.getRequestBody()).isEqualTo("0123456789");
+        assertThat(log.getResponseBody()).isEqualTo("0123");
+    }
+
+    @Test
+    void resetBufferDiscardsCapturedResponse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/eligibility");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+            res.resetBuffer();
+            res.getOutputStream().write("error".getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo("error");
+        assertThat(savedLogs.get(0).getResponseBody()).isEqualTo("error");
+    }
+
+    @Test
+    void excludedPathIsNotCaptured() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> res.getOutputStream().write(new byte[1024]));
+
+        assertThat(response.getContentAsByteArray()).hasSize(1024);
+        assertThat(savedLogs.get(0).getResponseBody()).isNull();
+    }
+}
@@ -0,0 +1,107 @@
+package cz.csas.eligibility.config.cache;
+
+import cz.csas.eligibility.dto.CacheWarmupStatusDto;
+import cz.csas.eligibility.exceptions.ExternalApiException;
+import cz.csas.eligibility.service.ApiServiceAccounts;
+import cz.csas.eligibility.service.ApiServiceClients;
+import cz.csas.eligibility.service.EligibilityReportingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupTest {
+
+    private static final List<String> CLIENT_IDS = IntStream.range(0, 10).mapToObj(i -> "client-" + i).toList();
+
+    @Mock
+    private EligibilityReportingService eligibilityReportingService;
+
+    @Mock
+    private ApiServiceClients apiServiceClients;
+
+    @Mock
+    private ApiServiceAccounts apiServiceAccounts;
+
+    private final ClientCacheRegistry clientCacheRegistry = new ClientCacheRegistry(100);
+
+    @Test
+    void prefetchesRecentlyActiveClientsUntilFractionIsLoaded() {
+        clientCacheRegistry.create("test", 60_000);
+        when(eligibilityReportingService.getRecentlyActiveClientIds(any(), eq(10))).thenReturn(CLIENT_IDS);
+
+        CacheWarmup warmup = warmup(1, 0.5, 60_000);
+        warmup.run(null);
+
+        CacheWarmupStatusDto status = warmup.getStatus();
+        assertThat(status.state()).isEqualTo("COMPLETED");
+        assertThat(status.clients()).isEqualTo(10);
+        // prefetches in flight when the fraction is reached may still complete
+        assertThat(status.loaded()).isBetween(5, 7);
+        // most recently active clients first, remaining clients are not prefetched; a prefetch handed to the worker
+        // thread may still be running when the submitting thread has prefetched the rest of the fraction itself
+        verify(apiServiceClients, timeout(1000)).getClientDetail(eq("client-0"), startsWith(CacheWarmup.CORRELATION_ID_PREFIX));
+        verify(apiServiceAccounts, timeout(1000)).hasOpenAccount(eq("client-4"), startsWith(CacheWarmup.CORRELATION_ID_PREFIX));
+        verify(apiServiceClients, never()).getClientDetail(eq("client-9"), anyString());
+    }
+
+    @Test
+    void failedPrefetchesDoNotBlockReadiness() {
+        clientCacheRegistry.create("test", 60_000);
+        when(eligibilityReportingService.getRecentlyActiveClientIds(any(), eq(10))).thenReturn(CLIENT_IDS);
+        when(apiServiceClients.getClientDetail(anyString(), anyString())).thenThrow(new ExternalApiException("down", new RuntimeException("connection refused")));
+
+        CacheWarmup warmup = warmup(2, 0.9, 60_000);
+        warmup.run(null);
+
+        CacheWarmupStatusDto status = warmup.getStatus();
+        assertThat(status.state()).isEqualTo("COMPLETED");
+        assertThat(status.loaded()).isZero();
+        assertThat(status.failed()).isEqualTo(10);
+    }
+
+    @Test
+    void stopsWhenTimeoutExpires() {
+        clientCacheRegistry.create("test", 60_000);
+        when(eligibilityReportingService.getRecentlyActiveClientIds(any(), eq(10))).thenReturn(CLIENT_IDS);
+        when(apiServiceClients.getClientDetail(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        });
+
+        CacheWarmup warmup = warmup(1, 1.0, 300);
+        warmup.run(null);
+
+        CacheWarmupStatusDto status = warmup.getStatus();
+        assertThat(status.state()).isEqualTo("TIMED_OUT");
+        assertThat(status.loaded()).isLessThan(10);
+    }
+
+    @Test
+    void skippedWhenCachesAreDisabled() {
+        clientCacheRegistry.create("test", 0);
+
+        CacheWarmup warmup = warmup(1, 0.9, 60_000);
+        warmup.run(null);
+
+        assertThat(warmup.getStatus().state()).isEqualTo("DISABLED");
+        verify(eligibilityReportingService, never()).getRecentlyActiveClientIds(any(), anyInt());
+    }
+
+    private CacheWarmup warmup(int concurrency, double readyFraction, long timeoutMs) {
+        return new CacheWarmup(eligibilityReportingService, apiServiceClients, apiServiceAccounts, clientCacheRegistry,
+                true, 10, 24, 1000, concurrency, readyFraction, timeoutMs);
+    }
+}
@@ -0,0 +1,104 @@
+package cz.csas.eligibility.config.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientCacheTest {
+
+    private final ClientCacheRegistry registry = new ClientCacheRegistry(2);
+
+    @Test
+    void cachesValueUntilEvicted() {
+        ClientCache<String> cache = registry.create("test", 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("c1", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get("c1", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+
+        registry.evict("c1");
+        assertThat(cache.get("c1", () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void evictionAffectsOnlyGivenClientInAllCaches() {
+        ClientCache<String> first = registry.create("first", 60_000);
+        ClientCache<String> second = registry.create("second", 60_000);
+        first.get("c1", () -> "a");
+        first.get("c2", () -> "b");
+        second.get("c1", () -> "c");
+
+        registry.evict("c1");
+
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(second.size()).isZero();
+        assertThat(first.get("c2", () -> "reloaded")).isEqualTo("b");
+    }
+
+    @Test
+    void valueLoadedDuringEvictionIsNotCached() {
+        ClientCache<String> cache = registry.create("test", 60_000);
+
+        // correction arrives while the old value is being loaded
+        assertThat(cache.get("c1", () -> {
+            registry.evict("c1");
+            return "stale";
+        })).isEqualTo("stale");
+
+        assertThat(cache.get("c1", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        ClientCache<String> cache = registry.create("test", 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("c1", () -> "v" + loads.incrementAndGet());
+        cache.get("c1", () -> "v" + loads.incrementAndGet());
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictionOfOtherClientDuringLoadKeepsValue() {
+        ClientCache<String> cache = registry.create("test", 60_000);
+
+        cache.get("c1", () -> {
+            registry.evict("c2");
+            return "v1";
+        });
+
+        assertThat(cache.get("c1", () -> "reloaded")).isEqualTo("v1");
+    }
+
+    @Test
+    void failedLoadLeavesNoEntry() {
+        ClientCache<String> cache = registry.create("test", 60_000);
+
+        assertThatThrownBy(() -> cache.get("c1", () -> {
+            throw new IllegalStateException("downstream failed");
+        })).isInstanceOf(IllegalStateException.class);
+        cache.get("c2", () -> null);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void fullCacheEvictsOldestEntry() {
+        ClientCache<String> cache = registry.create("test", 60_000);
+        cache.get("c1", () -> "a");
+        cache.get("c2", () -> "b");
+
+        assertThat(cache.get("c3", () -> "c")).isEqualTo("c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("c2", () -> "reloaded")).isEqualTo("b");
+        assertThat(cache.get("c3", () -> "reloaded")).isEqualTo("c");
+        assertThat(cache.get("c1", () -> "reloaded")).isEqualTo("reloaded");
+    }
+}
@@ -0,0 +1,93 @@
+package cz.csas.eligibility.config.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, 1.5, 0.2, 0.9, 600);
+
+    @Test
+    void rejectsRequestsOverLimit() {
+        AdaptiveConcurrencyLimit small = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 0.2, 0.9, 600);
+
+        assertThat(small.tryAcquire()).isEqualTo(1);
+        assertThat(small.tryAcquire()).isEqualTo(2);
+        assertThat(small.tryAcquire()).isZero();
+
+        small.release();
+        assertThat(small.tryAcquire()).isEqualTo(2);
+        assertThat(small.getStats().acceptedRequests()).isEqualTo(3);
+        assertThat(small.getStats().rejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void growsWhileLatencyIsStableUnderLoad() {
+        runAtLimit(50, 10);
+
+        assertThat(limit.getLimit()).isEqualTo(100);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        runAtLimit(50, 10);
+        int stableLimit = limit.getLimit();
+
+        runAtLimit(5, 50);
+
+        assertThat(limit.getLimit()).isLessThan(stableLimit / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void recoversWhenLatencyDropsBack() {
+        runAtLimit(50, 10);
+        runAtLimit(20, 100);
+        int overloadedLimit = limit.getLimit();
+
+        runAtLimit(20, 10);
+
+        assertThat(limit.getLimit()).isGreaterThan(overloadedLimit);
+    }
+
+    @Test
+    void doesNotGrowWhenApplicationLimited() {
+        for (int i = 0; i < 100; i++) {
+            int inFlight = limit.tryAcquire();
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), inFlight, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+        assertThat(limit.getStats().lastLatencyMs()).isEqualTo(10.0);
+    }
+
+    @Test
+    void backsOffOnFailures() {
+        for (int i = 0; i < 5; i++) {
+            int inFlight = limit.tryAcquire();
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), inFlight, true);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(20);
+        assertThat(limit.getStats().failedRequests()).isEqualTo(5);
+    }
+
+    // fills the limit, then completes all requests with the same latency
+    private void runAtLimit(int rounds, long latencyMs) {
+        for (int round = 0; round < rounds; round++) {
+            List<Integer> inFlight = new ArrayList<>();
+            int acquired;
+            while ((acquired = limit.tryAcquire()) > 0) {
+                inFlight.add(acquired);
+            }
+            for (int acquiredInFlight : inFlight) {
+                limit.onSample(TimeUnit.MILLISECONDS.toNanos(latencyMs), acquiredInFlight, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cz.csas.eligibility.config.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2, 0.9, 600);
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, new ObjectMapper().findAndRegisterModules(), 2);
+
+    @Test
+    void rejectsRequestOverLimitWithRetryAfter() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // the second request arrives while the first one is processed
+        filter.doFilter(request(), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(request(), rejected, (innerReq, innerRes) -> {
+                    throw new AssertionError("request over limit must not be processed");
+                }));
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getHeader("correlation-id")).isEqualTo("corr-1");
+        assertThat(rejected.getContentAsString()).contains(ConcurrencyLimitFilter.REJECTION_MESSAGE);
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(limit.getStats().acceptedRequests()).isEqualTo(1);
+        assertThat(limit.getStats().rejectedRequests()).isEqualTo(1);
+        assertThat(limit.getStats().lastLatencyMs()).isNotNull();
+    }
+
+    @Test
+    void countsServerErrorsAsFailures() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(500));
+        filter.doFilter(request(), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(400));
+
+        assertThat(limit.getStats().failedRequests()).isEqualTo(1);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ConcurrencyLimitConfig.LIMITED_PATH);
+        request.addHeader("correlation-id", "corr-1");
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package cz.csas.eligibility.config.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import({DataSourcePoolRoutingIT.AuditWork.class, DataSourcePoolRoutingIT.UnroutedWork.class})
+class DataSourcePoolRoutingIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private AuditWork auditWork;
+    @Autowired private UnroutedWork unroutedWork;
+
+    @Test
+    void classAnnotationSelectsPool() {
+        Map<DataSourcePool, Integer> active = auditWork.write();
+
+        assertThat(active).containsEntry(DataSourcePool.AUDIT, 1)
+                .containsEntry(DataSourcePool.ELIGIBILITY, 0)
+                .containsEntry(DataSourcePool.REPORTING, 0);
+        assertThat(DataSourcePoolRouting.current()).isNull();
+    }
+
+    @Test
+    void methodAnnotationOverridesClassAnnotation() {
+        Map<DataSourcePool, Integer> active = auditWork.read();
+
+        assertThat(active).containsEntry(DataSourcePool.REPORTING, 1)
+                .containsEntry(DataSourcePool.AUDIT, 0);
+    }
+
+    @Test
+    void unroutedWorkUsesEligibilityPool() {
+        Map<DataSourcePool, Integer> active = unroutedWork.write();
+
+        assertThat(active).containsEntry(DataSourcePool.ELIGIBILITY, 1)
+                .containsEntry(DataSourcePool.AUDIT, 0)
+                .containsEntry(DataSourcePool.REPORTING, 0);
+    }
+
+    @Test
+    void poolStatsArePublished() throws Exception {
+        auditWork.write();
+
+        mockMvc.perform(get("/api/v1/ops/db-pools"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].pool", contains("audit", "eligibility", "reporting")))
+                .andExpect(jsonPath("$[*].poolName", contains("audit-pool", "eligibility-pool", "reporting-pool")))
+                .andExpect(jsonPath("$[0].activeConnections").value(0))
+                .andExpect(jsonPath("$[0].totalConnections").value(greaterThan(0)));
+    }
+
+    private static Map<DataSourcePool, Integer> activeConnections(JdbcTemplate jdbcTemplate, DataSourcePoolRouting dataSource) {
+        // make sure the transaction holds its connection
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        Map<DataSourcePool, Integer> active = new EnumMap<>(DataSourcePool.class);
+        for (DataSourcePool pool : DataSourcePool.values()) {
+            var mxBean = dataSource.getPool(pool).getHikariPoolMXBean();
+            active.put(pool, mxBean != null ? mxBean.getActiveConnections() : 0);
+        }
+        return active;
+    }
+
+    @TestConfiguration
+    @UseDataSourcePool(DataSourcePool.AUDIT)
+    static class AuditWork {
+
+        @Autowired private JdbcTemplate jdbcTemplate;
+        @Autowired private DataSourcePoolRouting dataSource;
+
+        @Transactional
+        public Map<DataSourcePool, Integer> write() {
+            return activeConnections(jdbcTemplate, dataSource);
+        }
+
+        @Transactional(readOnly = true)
+        @UseDataSourcePool(DataSourcePool.REPORTING)
+        public Map<DataSourcePool, Integer> read() {
+            return activeConnections(jdbcTemplate, dataSource);
+        }
+    }
+
+    @TestConfiguration
+    static class UnroutedWork {
+
+        @Autowired private JdbcTemplate jdbcTemplate;
+        @Autowired private DataSourcePoolRouting dataSource;
+
+        @Transactional
+        public Map<DataSourcePool, Integer> write() {
+            return activeConnections(jdbcTemplate, dataSource);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package cz.csas.eligibility.config.datasource;
+
+import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.repository.EligibilityRepository;
+import cz.csas.eligibility.service.EligibilityReportingService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.SQLFeatureNotSupportedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two H2 databases stand in for the primary and the replica (no replication - test data is written to each directly).
+ */
+@SpringBootTest(properties = {
+        "db.replica.url=" + ReplicaRoutingIT.REPLICA_URL,
+        "db.replica.lag-query=SELECT lag_ms FROM replica_lag",
+        "db.replica.max-lag-ms=1000",
+        "db.replica.check-interval-ms=3600000"})
+class ReplicaRoutingIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA_CLIENT = "replica-client";
+    private static final String PRIMARY_CLIENT = "primary-client";
+
+    @Autowired private EligibilityReportingService eligibilityReportingService;
+    @Autowired private EligibilityRepository eligibilityRepository;
+    @Autowired private ReplicaDataSource replicaDataSource;
+    @Autowired private JdbcTemplate primaryJdbcTemplate;
+
+    private final JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void init() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        replicaJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+        replicaJdbcTemplate.update("DELETE FROM replica_lag");
+        replicaJdbcTemplate.update("DELETE FROM eligibility");
+        primaryJdbcTemplate.update("DELETE FROM eligibility");
+
+        insert(replicaJdbcTemplate, REPLICA_CLIENT);
+        insert(primaryJdbcTemplate, PRIMARY_CLIENT);
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByReplica() {
+        setReplicaLag(0);
+
+        assertThat(replicaDataSource.isAvailable()).isTrue();
+        assertThat(eligibilityReportingService.getLatestResult(REPLICA_CLIENT)).isPresent();
+        assertThat(eligibilityReportingService.getLatestResult(PRIMARY_CLIENT)).isEmpty();
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        setReplicaLag(0);
+
+        eligibilityRepository.save(Eligibility.builder()
+                .clientId("new-client")
+                .result(Eligibility.EligibilityResultEnum.ELIGIBLE)
+                .build());
+
+        assertThat(count(primaryJdbcTemplate, "new-client")).isEqualTo(1);
+        assertThat(count(replicaJdbcTemplate, "new-client")).isZero();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        setReplicaLag(0);
+        setReplicaLag(5000);
+
+        assertThat(replicaDataSource.isAvailable()).isFalse();
+        assertThat(eligibilityReportingService.getLatestResult(PRIMARY_CLIENT)).isPresent();
+        assertThat(eligibilityReportingService.getLatestResult(REPLICA_CLIENT)).isEmpty();
+    }
+
+    @Test
+    void unknownLagFallsBackToPrimary() {
+        replicaJdbcTemplate.update("INSERT INTO replica_lag (lag_ms) VALUES (NULL)");
+        replicaDataSource.checkReplica();
+
+        assertThat(replicaDataSource.isAvailable()).isFalse();
+        assertThat(eligibilityReportingService.getLatestResult(PRIMARY_CLIENT)).isPresent();
+    }
+
+    @Test
+    @DirtiesContext
+    void replicaDownFallsBackToPrimary() {
+        setReplicaLag(0);
+        replicaDataSource.getReplica().close();
+
+        assertThat(eligibilityReportingService.getLatestResult(PRIMARY_CLIENT)).isPresent();
+        assertThat(replicaDataSource.isAvailable()).isFalse();
+
+        replicaDataSource.checkReplica();
+        assertThat(replicaDataSource.isAvailable()).isFalse();
+    }
+
+    @Test
+    void connectionWithOtherCredentialsIsNotSupported() {
+        assertThatThrownBy(() -> replicaDataSource.getConnection("sa", ""))
+                .isInstanceOf(SQLFeatureNotSupportedException.class);
+    }
+
+    private void setReplicaLag(long lagMs) {
+        replicaJdbcTemplate.update("DELETE FROM replica_lag");
+        replicaJdbcTemplate.update("INSERT INTO replica_lag (lag_ms) VALUES (?)", lagMs);
+        replicaDataSource.checkReplica();
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String clientId) {
+        jdbcTemplate.update("INSERT INTO eligibility (client_id, correlation_id, result) VALUES (?, ?, 'ELIGIBLE')",
+                clientId, "corr-" + clientId);
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String clientId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM eligibility WHERE client_id = ?", Integer.class, clientId);
+    }
+}
@@ -0,0 +1,65 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimits rateLimits = new RateLimits(new MockEnvironment()
+            .withProperty("eligibility.rate-limit.caller.rate-per-second", "100")
+            .withProperty("eligibility.rate-limit.caller.burst", "100")
+            .withProperty("eligibility.rate-limit.client.rate-per-second", "0.1")
+            .withProperty("eligibility.rate-limit.client.burst", "2"), 100);
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimits, new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void rejectsClientOverLimitWith429() throws Exception {
+        AtomicInteger processed = new AtomicInteger();
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("c1"), first, (req, res) -> processed.incrementAndGet());
+        filter.doFilter(request("c1"), new MockHttpServletResponse(), (req, res) -> processed.incrementAndGet());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("c1"), rejected, (req, res) -> processed.incrementAndGet());
+
+        assertThat(processed).hasValue(2);
+        assertThat(first.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(first.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        assertThat(first.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("10");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(rejected.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(rejected.getHeader("correlation-id")).isEqualTo("corr-1");
+        assertThat(rejected.getContentAsString()).contains(RateLimitFilter.REJECTION_MESSAGE);
+    }
+
+    @Test
+    void otherClientsAreNotAffected() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("c1"), new MockHttpServletResponse(), (req, res) -> {});
+        }
+
+        MockHttpServletResponse other = new MockHttpServletResponse();
+        filter.doFilter(request("c2"), other, (req, res) -> {});
+
+        assertThat(other.getStatus()).isEqualTo(200);
+        assertThat(rateLimits.getStats())
+                .extracting(stats -> stats.keyClass() + ":" + stats.allowedRequests() + "/" + stats.rejectedRequests())
+                .containsExactly("caller:4/0", "client:3/1");
+    }
+
+    private static MockHttpServletRequest request(String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", RateLimitConfig.LIMITED_PATH);
+        request.addHeader("clientId", clientId);
+        request.addHeader("correlation-id", "corr-1");
+        return request;
+    }
+}
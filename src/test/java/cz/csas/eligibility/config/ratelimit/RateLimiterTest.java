@@ -0,0 +1,127 @@
+package cz.csas.eligibility.config.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long start = System.nanoTime();
+    private final RateLimiter limiter = new RateLimiter(RateLimitKey.CLIENT, 2, 3, 100);
+
+    @Test
+    void admitsBurstThenRejectsUntilRefilled() {
+        assertThat(limiter.tryAcquire("c1", start).remaining()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("c1", start).remaining()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("c1", start).remaining()).isZero();
+
+        RateLimiter.Decision rejected = limiter.tryAcquire("c1", start);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(SECOND / 2);
+        assertThat(rejected.resetNanos()).isEqualTo(3 * SECOND / 2);
+
+        // one token per 500 ms
+        assertThat(limiter.tryAcquire("c1", start + SECOND / 2).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("c1", start + SECOND / 2).allowed()).isFalse();
+        assertThat(limiter.getStats().allowedRequests()).isEqualTo(4);
+        assertThat(limiter.getStats().rejectedRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("c1", start);
+        }
+
+        assertThat(limiter.tryAcquire("c1", start).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("c2", start).allowed()).isTrue();
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        limiter.tryAcquire("idle", start);
+        limiter.tryAcquire("busy", start + SECOND);
+        limiter.tryAcquire("busy", start + SECOND);
+
+        assertThat(limiter.evictIdle(start + SECOND + SECOND / 2)).isEqualTo(1);
+        assertThat(limiter.getStats().trackedKeys()).isEqualTo(1);
+
+        // the remaining bucket keeps its state
+        assertThat(limiter.tryAcquire("busy", start + SECOND + SECOND / 2).remaining()).isEqualTo(1);
+    }
+
+    @Test
+    void freshKeyIsAdmittedWhenMaxKeysAreTracked() {
+        RateLimiter small = new RateLimiter(RateLimitKey.CLIENT, 2, 3, 2);
+        for (int i = 0; i < 3; i++) {
+            small.tryAcquire("c1", start);
+            small.tryAcquire("c2", start);
+        }
+
+        // many fresh keys (e.g. forged clientIds) do not exhaust a bucket of other keys
+        for (int i = 0; i < 10; i++) {
+            assertThat(small.tryAcquire("other-" + i, start).allowed()).isTrue();
+        }
+        assertThat(small.tryAcquire("c1", start).allowed()).isFalse();
+        assertThat(small.getStats().trackedKeys()).isEqualTo(2);
+        assertThat(small.getStats().overflowedRequests()).isEqualTo(10);
+    }
+
+    @Test
+    void idleBucketsAreEvictedForFreshKeyWhenMaxKeysAreTracked() {
+        RateLimiter small = new RateLimiter(RateLimitKey.CLIENT, 2, 3, 2);
+        small.tryAcquire("c1", start);
+        small.tryAcquire("c2", start);
+
+        // both buckets are full again - the fresh key gets its own bucket and its limit
+        long later = start + 2 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(small.tryAcquire("c3", later).allowed()).isTrue();
+        }
+        assertThat(small.tryAcquire("c3", later).allowed()).isFalse();
+        assertThat(small.getStats().evictedBuckets()).isEqualTo(2);
+        assertThat(small.getStats().overflowedRequests()).isZero();
+    }
+
+    @Test
+    void concurrentRequestsTakeExactlyBurst() throws Exception {
+        RateLimiter slow = new RateLimiter(RateLimitKey.CALLER, 0.001, 1000, 100);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (slow.tryAcquire("caller", start).allowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            ready.countDown();
+            int allowed = 0;
+            for (Future<Integer> future : futures) {
+                allowed += future.get();
+            }
+
+            assertThat(allowed).isEqualTo(1000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cz.csas.eligibility.config.warmup;
+
+import com.sun.net.httpserver.HttpServer;
+import cz.csas.eligibility.api_accounts.api.AccountsServerApi;
+import cz.csas.eligibility.api_clients.api.ClientsServerApi;
+import cz.csas.eligibility.dto.EligibilityWarmupStatusDto;
+import cz.csas.eligibility.repository.AuditLogRepository;
+import cz.csas.eligibility.repository.EligibilityRepository;
+import cz.csas.eligibility.service.EligibilityStatsService;
+import cz.csas.eligibility.utils.SyntheticEvaluation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "eligibility.warmup.iterations=20",
+        "eligibility.warmup.timeout-ms=1000"
+})
+class EligibilityWarmupIT {
+
+    @Autowired private EligibilityWarmup eligibilityWarmup;
+    @Autowired private EligibilityRepository eligibilityRepository;
+    @Autowired private AuditLogRepository auditLogRepository;
+    @Autowired private EligibilityStatsService eligibilityStatsService;
+    @Autowired private AccountsServerApi accountsServerApi;
+    @Autowired private ClientsServerApi clientsServerApi;
+
+    @Test
+    void syntheticEvaluationsLeaveNoData() {
+        long eligibilities = eligibilityRepository.count();
+        long auditLogs = auditLogRepository.count();
+        LocalDateTime from = LocalDateTime.now().minusHours(1);
+        long counted = eligibilityStatsService.getStats(from, from.plusHours(2)).total();
+
+        // downstream hosts of the tests are not reachable - the warm-up ends by the timeout
+        eligibilityWarmup.warmUp();
+
+        EligibilityWarmupStatusDto status = eligibilityWarmup.getStatus();
+        assertThat(status.evaluated()).isEqualTo(20);
+        assertThat(status.failed()).isZero();
+        assertThat(status.downstreamHosts()).isEqualTo(2);
+        // results are not written, stubbed downstream calls are not audited, outcomes are not counted
+        assertThat(eligibilityRepository.count()).isEqualTo(eligibilities);
+        assertThat(auditLogRepository.count()).isEqualTo(auditLogs);
+        assertThat(eligibilityStatsService.getStats(from, from.plusHours(2)).total()).isEqualTo(counted);
+        assertThat(SyntheticEvaluation.isActive()).isFalse();
+    }
+
+    @Test
+    void opensConnectionToEachDownstreamHost() throws Exception {
+        List<String> requests = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        String accountsBasePath = accountsServerApi.getApiClient().getBasePath();
+        String clientsBasePath = clientsServerApi.getApiClient().getBasePath();
+        try {
+            String basePath = "http://127.0.0.1:" + server.getAddress().getPort();
+            accountsServerApi.getApiClient().setBasePath(basePath);
+            clientsServerApi.getApiClient().setBasePath(basePath);
+
+            int connected = eligibilityWarmup.openConnections(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+
+            assertThat(connected).isEqualTo(2);
+            assertThat(requests).containsExactly("HEAD", "HEAD");
+        } finally {
+            accountsServerApi.getApiClient().setBasePath(accountsBasePath);
+            clientsServerApi.getApiClient().setBasePath(clientsBasePath);
+            server.stop(0);
+        }
+    }
+}
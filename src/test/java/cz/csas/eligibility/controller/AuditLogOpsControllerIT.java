@@ -0,0 +1,218 @@
+package cz.csas.eligibility.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.repository.AuditLogRepository;
+import cz.csas.eligibility.service.AuditLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AuditLogOpsControllerIT {
+
+    private static final String URL = "/api/v1/ops/audit-logs/export";
+    private static final String FAILED_URL = "/api/v1/ops/audit-logs/failed";
+    private static final String ROLLUPS_URL = "/api/v1/ops/audit-logs/rollups";
+    private static final String API_NAME = "ClientsServer";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 12, 0);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private AuditLogRepository auditLogRepository;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private AuditLogService auditLogService;
+
+    @BeforeEach
+    void init() {
+        auditLogRepository.deleteAll();
+        save(API_NAME, "req-1", NOW.minusHours(2), "{\"a\":1}");
+        save(API_NAME, "req-2", NOW.minusHours(1), "text, with \"quotes\"\nand newline");
+        save(API_NAME, "req-3", NOW, "outside of range");
+        save("AccountsServer", "req-4", NOW.minusHours(1), "other api");
+        auditLogRepository.flush();
+    }
+
+    @Test
+    void exportAsNdjson() throws Exception {
+        String body = mockMvc.perform(get(URL)
+                        .param("apiName", API_NAME)
+                        .param("from", NOW.minusDays(1).toString())
+                        .param("to", NOW.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"audit-logs-ClientsServer.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(first.get("request_id").asText()).isEqualTo("req-1");
+        assertThat(first.get("response_body").asText()).isEqualTo("{\"a\":1}");
+        assertThat(first.get("request_headers").asText()).isEqualTo("{\"correlation-id\":\"req-1\"}");
+        assertThat(first.get("success").asBoolean()).isFalse();
+        assertThat(first.get("response_status").asInt()).isEqualTo(500);
+        assertThat(second.get("request_id").asText()).isEqualTo("req-2");
+        assertThat(second.get("response_body").asText()).isEqualTo("text, with \"quotes\"\nand newline");
+    }
+
+    @Test
+    void exportFileNameOfArbitraryApiName() throws Exception {
+        String apiName = "Clients \"Šerver\"";
+        String contentDisposition = mockMvc.perform(get(URL)
+                        .param("apiName", apiName)
+                        .param("from", NOW.minusDays(1).toString())
+                        .param("to", NOW.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Content-Disposition");
+
+        assertThat(contentDisposition).isNotNull().isASCII();
+        ContentDisposition parsed = ContentDisposition.parse(contentDisposition);
+        assertThat(parsed.isAttachment()).isTrue();
+        assertThat(parsed.getFilename()).isEqualTo("audit-logs-" + apiName + ".ndjson");
+    }
+
+    @Test
+    void exportAsCsv() throws Exception {
+        String body = mockMvc.perform(get(URL)
+                        .param("apiName", API_NAME)
+                        .param("from", NOW.minusDays(1).toString())
+                        .param("to", NOW.toString())
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).startsWith("id,request_id,api_name,");
+        assertThat(body).contains(",req-1,ClientsServer,GET,");
+        assertThat(body).contains(",\"{\"\"a\"\":1}\",");
+        assertThat(body).contains(",\"text, with \"\"quotes\"\"\nand newline\",");
+        assertThat(body).doesNotContain("req-3").doesNotContain("req-4");
+    }
+
+    @Test
+    void failedRequestsArePagedNewestFirst() throws Exception {
+        AuditLog successful = AuditLog.builder()
+                .requestId("req-5").apiName(API_NAME).method("GET").url("http://localhost/clients/req-5")
+                .responseStatus(200).success(true).createdAt(NOW.minusMinutes(30)).build();
+        auditLogRepository.saveAndFlush(successful);
+
+        String firstPage = mockMvc.perform(get(FAILED_URL)
+                        .param("apiName", API_NAME)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].requestId").value("req-3"))
+                .andExpect(jsonPath("$.items[1].requestId").value("req-2"))
+                .andExpect(jsonPath("$.items[0].responseBody").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get(FAILED_URL)
+                        .param("apiName", API_NAME)
+                        .param("limit", "2")
+                        .param("cursor", objectMapper.readTree(firstPage).get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].requestId").value("req-1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get(FAILED_URL)
+                        .param("from", NOW.minusHours(1).toString())
+                        .param("to", NOW.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[*].requestId").value(containsInAnyOrder("req-2", "req-4")));
+    }
+
+    @Test
+    void rollupsAreMaintainedOnWriteAndMergedIntoCoarserBuckets() throws Exception {
+        String apiName = "RollupServer";
+        for (int i = 1; i <= 100; i++) {
+            auditLogService.saveAuditLog(AuditLog.builder()
+                    .requestId("rollup-" + i).apiName(apiName).method("GET").url("http://localhost/rollup")
+                    .responseStatus(i % 10 == 0 ? 500 : 200).success(i % 10 != 0)
+                    .executionTimeMs((long) i)
+                    .createdAt(NOW.plusMinutes(i % 2).plusSeconds(i % 60))
+                    .build());
+        }
+
+        mockMvc.perform(get(ROLLUPS_URL)
+                        .param("apiName", apiName)
+                        .param("from", NOW.toString())
+                        .param("to", NOW.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].bucketStart").value("2025-05-01T12:00:00"))
+                .andExpect(jsonPath("$[0].callCount").value(50))
+                .andExpect(jsonPath("$[1].bucketStart").value("2025-05-01T12:01:00"))
+                .andExpect(jsonPath("$[1].callCount").value(50));
+
+        mockMvc.perform(get(ROLLUPS_URL)
+                        .param("apiName", apiName)
+                        .param("from", NOW.toString())
+                        .param("to", NOW.plusHours(1).toString())
+                        .param("bucketMinutes", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].callCount").value(100))
+                .andExpect(jsonPath("$[0].failureCount").value(10))
+                .andExpect(jsonPath("$[0].errorRate").value(0.1))
+                .andExpect(jsonPath("$[0].avgLatencyMs").value(50.5))
+                .andExpect(jsonPath("$[0].maxLatencyMs").value(100))
+                .andExpect(jsonPath("$[0].p50LatencyMs").value(allOf(greaterThanOrEqualTo(47), lessThanOrEqualTo(53))))
+                .andExpect(jsonPath("$[0].p99LatencyMs").value(greaterThanOrEqualTo(93)));
+
+        mockMvc.perform(get(ROLLUPS_URL)
+                        .param("from", NOW.toString())
+                        .param("to", NOW.plusDays(40).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void invalidRangeOrFormatIsBadRequest() throws Exception {
+        mockMvc.perform(get(URL)
+                        .param("apiName", API_NAME)
+                        .param("from", NOW.toString())
+                        .param("to", NOW.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorStatusValue").value(400));
+
+        mockMvc.perform(get(URL)
+                        .param("apiName", API_NAME)
+                        .param("from", NOW.minusDays(1).toString())
+                        .param("to", NOW.toString())
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void save(String apiName, String requestId, LocalDateTime createdAt, String responseBody) {
+        auditLogRepository.save(AuditLog.builder()
+                .requestId(requestId)
+                .apiName(apiName)
+                .method("GET")
+                .url("http://localhost/clients/" + requestId)
+                .requestHeaders("{\"correlation-id\":\"" + requestId + "\"}")
+                .responseStatus(500)
+                .responseBody(responseBody)
+                .executionTimeMs(10L)
+                .createdAt(createdAt)
+                .build());
+    }
+}
@@ -0,0 +1,68 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.cache.ClientCache;
+import cz.csas.eligibility.config.cache.ClientCacheRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * H2 has no LISTEN/NOTIFY - published invalidations are applied to the local caches directly.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CacheOpsControllerIT {
+
+    private static final String URL = "/api/v1/ops/cache/invalidations";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ClientCacheRegistry clientCacheRegistry;
+
+    @Test
+    void invalidationEvictsGivenClient() throws Exception {
+        ClientCache<String> cache = clientCacheRegistry.create("test-client", 60_000);
+        cache.get("c1", () -> "a");
+        cache.get("c2", () -> "b");
+
+        mockMvc.perform(post(URL).param("clientId", "c1"))
+                .andExpect(status().isAccepted());
+
+        assertThat(cache.get("c1", () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.get("c2", () -> "reloaded")).isEqualTo("b");
+    }
+
+    @Test
+    void invalidationWithoutClientEvictsEverything() throws Exception {
+        ClientCache<String> cache = clientCacheRegistry.create("test-all", 60_000);
+        cache.get("c1", () -> "a");
+        cache.get("c2", () -> "b");
+
+        mockMvc.perform(post(URL))
+                .andExpect(status().isAccepted());
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void statsReportInvalidationLag() throws Exception {
+        mockMvc.perform(post(URL).param("clientId", "c1"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get(URL + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.listening").value(false))
+                .andExpect(jsonPath("$.receivedInvalidations").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.lastLagMs").value(notNullValue()))
+                .andExpect(jsonPath("$.p99LagMs").value(notNullValue()));
+    }
+}
@@ -0,0 +1,41 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.concurrency.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConcurrencyLimitOpsControllerIT {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private AdaptiveConcurrencyLimit eligibilityConcurrencyLimit;
+
+    @Test
+    void eligibilityRequestsPassThroughLimit() throws Exception {
+        long acceptedBefore = eligibilityConcurrencyLimit.getStats().acceptedRequests();
+
+        // missing clientId - rejected by the controller, but admitted and measured by the limit
+        mockMvc.perform(get("/api/v1/eligibility"))
+                .andExpect(status().isBadRequest());
+        // other endpoints are not limited
+        mockMvc.perform(get("/api/v1/ops/readiness"))
+                .andExpect(status().isOk());
+
+        assertThat(eligibilityConcurrencyLimit.getStats().acceptedRequests()).isEqualTo(acceptedBefore + 1);
+        mockMvc.perform(get("/api/v1/ops/concurrency-limit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(eligibilityConcurrencyLimit.getLimit()))
+                .andExpect(jsonPath("$.inFlight").value(0))
+                .andExpect(jsonPath("$.failedRequests").value(0))
+                .andExpect(jsonPath("$.lastLatencyMs").isNumber());
+    }
+}
@@ -0,0 +1,150 @@
+package cz.csas.eligibility.controller;
+
+import cz.csas.eligibility.config.concurrency.AdaptiveConcurrencyLimit;
+import cz.csas.eligibility.model.GetClientDetailResponse;
+import cz.csas.eligibility.repository.AuditLogRepository;
+import cz.csas.eligibility.service.ApiServiceAccounts;
+import cz.csas.eligibility.service.ApiServiceClients;
+import cz.csas.eligibility.testutil.EligibilityTestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+/**
+ * Capacity of the async eligibility endpoint: with a fixed number of Tomcat workers, far more requests stay in flight
+ * while the downstream calls are pending, because the workers are released once the request is handed over to the pool.
+ * The filters also see the async dispatch of each request, which must not audit or measure the request a second time.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + EligibilityAsyncCapacityIT.TOMCAT_THREADS,
+        "server.tomcat.threads.min-spare=1",
+        "eligibility.concurrency-limit.initial-limit=100",
+        "eligibility.rate-limit.client.rate-per-second=0"
+})
+class EligibilityAsyncCapacityIT {
+
+    static final int TOMCAT_THREADS = 4;
+    private static final int REQUESTS = 5 * TOMCAT_THREADS;
+    private static final String CLIENT_ID = "1234-56-78-90.12.34.567890";
+
+    @LocalServerPort private int port;
+    @Autowired private ApiServiceAccounts apiServiceAccounts;
+    @Autowired private ApiServiceClients apiServiceClients;
+    @Autowired private AuditLogRepository auditLogRepository;
+    @Autowired private AdaptiveConcurrencyLimit eligibilityConcurrencyLimit;
+
+    private final CountDownLatch inFlight = new CountDownLatch(REQUESTS);
+    private final CountDownLatch downstreamResponds = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseDownstream() {
+        downstreamResponds.countDown();
+    }
+
+    @Test
+    void requestsInFlightExceedTomcatThreads() throws Exception {
+        GetClientDetailResponse adult = EligibilityTestDataBuilder.createDefaultAdultClient();
+        when(apiServiceClients.getClientDetail(anyString(), anyString())).thenReturn(adult);
+        when(apiServiceAccounts.hasOpenAccount(anyString(), anyString())).thenAnswer(invocation -> {
+            inFlight.countDown();
+            return downstreamResponds.await(30, TimeUnit.SECONDS);
+        });
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/eligibility"))
+                    .header("clientId", CLIENT_ID)
+                    .header("correlation-id", "capacity-" + i)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        //all requests wait for the downstream at once, although only TOMCAT_THREADS workers exist
+        assertThat(inFlight.await(20, TimeUnit.SECONDS))
+                .as("%d requests in flight with %d Tomcat threads", REQUESTS - inFlight.getCount(), TOMCAT_THREADS)
+                .isTrue();
+
+        downstreamResponds.countDown();
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            HttpResponse<String> completed = response.get(30, TimeUnit.SECONDS);
+            assertThat(completed.statusCode()).isEqualTo(200);
+            assertThat(completed.body()).contains("\"eligible\":true");
+        }
+    }
+
+    @Test
+    void asyncRequestIsAuditedAndSampledOnce() throws Exception {
+        GetClientDetailResponse adult = EligibilityTestDataBuilder.createDefaultAdultClient();
+        doReturn(adult).when(apiServiceClients).getClientDetail(anyString(), anyString());
+        doReturn(true).when(apiServiceAccounts).hasOpenAccount(anyString(), anyString());
+        long accepted = eligibilityConcurrencyLimit.getStats().acceptedRequests();
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        List<String> correlationIds = List.of("single-dispatch-1", "single-dispatch-2", "single-dispatch-3");
+        for (String correlationId : correlationIds) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/eligibility"))
+                    .header("clientId", CLIENT_ID)
+                    .header("correlation-id", correlationId)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            assertThat(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+        }
+
+        // audit logs are saved asynchronously - no second row may follow the first one
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            for (String correlationId : correlationIds) {
+                assertThat(auditLogRepository.findByCorrelationId(correlationId))
+                        .filteredOn(log -> "ApplicationServer".equals(log.getApiName()))
+                        .hasSize(1);
+            }
+        });
+        // a second sample of a request would release its slot twice
+        assertThat(eligibilityConcurrencyLimit.getStats().acceptedRequests() - accepted).isEqualTo(correlationIds.size());
+        assertThat(eligibilityConcurrencyLimit.getInFlight()).isZero();
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        @Primary
+        public ApiServiceAccounts apiServiceAccounts() {
+            return Mockito.mock(ApiServiceAccounts.class);
+        }
+        @Bean
+        @Primary
+        public ApiServiceClients apiServiceClients() {
+            return Mockito.mock(ApiServiceClients.class);
+        }
+    }
+}
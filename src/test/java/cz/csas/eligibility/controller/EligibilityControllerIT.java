@@ -2,6 +2,7 @@ package cz.csas.eligibility.controller;
 
 import cz.csas.eligibility.entity.AuditLog;
 import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.exceptions.EligibilityApiException;
 import cz.csas.eligibility.exceptions.ExternalApiException;
 import cz.csas.eligibility.model.*;
 import cz.csas.eligibility.repository.AuditLogRepository;
@@ -17,16 +18,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -45,7 +51,6 @@ class EligibilityControllerIT {
     @Autowired private ApiServiceAccounts apiServiceAccounts;
     @Autowired private ApiServiceClients apiServiceClients;
 
-    private List<Account> accounts;
     private GetClientDetailResponse adult;
     private GetClientDetailResponse minor;
 
@@ -55,7 +60,6 @@ class EligibilityControllerIT {
         eligibilityRepository.deleteAll();
         reset(apiServiceAccounts, apiServiceClients);
 
-        accounts = EligibilityTestDataBuilder.createAccountsWithNationalAccount();
         adult = EligibilityTestDataBuilder.createDefaultAdultClient();
         minor = EligibilityTestDataBuilder.createDefaultMinorClient();
     }
@@ -63,19 +67,21 @@ class EligibilityControllerIT {
     /* ---------- 1a – accounts>0 & adult => ELIGIBLE ---------- */
     @Test
     void isAdultAndHasAccount() throws Exception {
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORR_ID)).thenReturn(accounts);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORR_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail (CLIENT_ID, CORR_ID)).thenReturn(adult);
 
-        mockMvc.perform(get(URL)
-                        .header("clientId", CLIENT_ID)
-                        .header("correlation-id", CORR_ID))
+        performEligibilityRequest()
                 .andExpect(status().isOk())
                 .andExpect(header().string("correlation-id", CORR_ID))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.eligible").value(true))
                 .andExpect(jsonPath("$.reasons").isEmpty());
 
         //rest api audit logs checking
         checkRestApiAuditLogs(true,200);
+        // pre-serialized body is captured by the audit filter as well
+        assertThat(auditLogRepository.findByCorrelationId(CORR_ID).get(0).getResponseBody())
+                .isEqualTo("{\"eligible\":true,\"reasons\":[]}");
 
         //eligibility logs checking
         checkEligibilityResultLogs(Eligibility.EligibilityResultEnum.ELIGIBLE);
@@ -84,12 +90,10 @@ class EligibilityControllerIT {
     /* ---------- 1b – no accounts & adult => NOT_ELIGIBLE (NO_ACCOUNT) ---------- */
     @Test
     void noAccountAdult() throws Exception {
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORR_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORR_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail (CLIENT_ID, CORR_ID)).thenReturn(adult);
 
-        mockMvc.perform(get(URL)
-                        .header("clientId", CLIENT_ID)
-                        .header("correlation-id", CORR_ID))
+        performEligibilityRequest()
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.eligible").value(false))
                 .andExpect(jsonPath("$.reasons[0]").value("NO_ACCOUNT"));
@@ -104,12 +108,10 @@ class EligibilityControllerIT {
     /* ---------- 1c – accounts>0 & minor => NOT_ELIGIBLE (NO_ADULT) ---------- */
     @Test
     void hasAccountMinor() throws Exception {
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORR_ID)).thenReturn(accounts);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORR_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail (CLIENT_ID, CORR_ID)).thenReturn(minor);
 
-        mockMvc.perform(get(URL)
-                        .header("clientId", CLIENT_ID)
-                        .header("correlation-id", CORR_ID))
+        performEligibilityRequest()
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.eligible").value(false))
                 .andExpect(jsonPath("$.reasons").value("NO_ADULT"));
@@ -124,12 +126,10 @@ class EligibilityControllerIT {
     /* ---------- 1d – no accounts & minor => NOT_ELIGIBLE (both reasons) ---------- */
     @Test
     void noAccountMinor() throws Exception {
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORR_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORR_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail (CLIENT_ID, CORR_ID)).thenReturn(minor);
 
-        mockMvc.perform(get(URL)
-                        .header("clientId", CLIENT_ID)
-                        .header("correlation-id", CORR_ID))
+        performEligibilityRequest()
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.eligible").value(false))
                 .andExpect(jsonPath("$.reasons").value(containsInAnyOrder("NO_ACCOUNT","NO_ADULT")));
@@ -144,12 +144,10 @@ class EligibilityControllerIT {
     /* ---------- 1e – external API error => BAD_REQUEST & result ERROR ---------- */
     @Test
     void externalApiError() throws Exception {
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORR_ID))
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORR_ID))
                 .thenThrow(new ExternalApiException("External API not working",new RuntimeException("x")));
 
-        mockMvc.perform(get(URL)
-                        .header("clientId", CLIENT_ID)
-                        .header("correlation-id", CORR_ID))
+        performEligibilityRequest()
                 .andExpect(status().isBadRequest())
                 .andExpect(header().string("correlation-id", CORR_ID))
                 .andExpect(jsonPath("$.errorStatusValue").value(400))
@@ -159,6 +157,9 @@ class EligibilityControllerIT {
 
         //rest api audit logs checking
         checkRestApiAuditLogs(false,400);
+        AuditLog log = auditLogRepository.findByCorrelationId(CORR_ID).get(0);
+        assertThat(log.getErrorMessage()).isEqualTo("External API not working");
+        assertThat(log.getExceptionName()).isEqualTo(EligibilityApiException.class.getName());
 
         //eligibility logs checking
         checkEligibilityResultLogs(Eligibility.EligibilityResultEnum.ERROR);
@@ -192,6 +193,16 @@ class EligibilityControllerIT {
     }
 
     /* ---------------- helpers ---------------- */
+    // the endpoint is async - the response is written by the async dispatch
+    private ResultActions performEligibilityRequest() throws Exception {
+        MvcResult started = mockMvc.perform(get(URL)
+                        .header("clientId", CLIENT_ID)
+                        .header("correlation-id", CORR_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
     private void checkRestApiAuditLogs(boolean success, int status){
         List<AuditLog> logs = auditLogRepository.findByCorrelationId(CORR_ID);
         assertThat(logs).hasSize(1);
@@ -202,7 +213,8 @@ class EligibilityControllerIT {
         assertThat(log.getCreatedAt()).isBeforeOrEqualTo(LocalDateTime.now());
     }
     private void checkEligibilityResultLogs(Eligibility.EligibilityResultEnum expected){
-        List<Eligibility> eligibilityResults = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> eligibilityResults = eligibilityRepository
+                .findByClientIdOrderByCheckedAtDescIdDesc(CLIENT_ID, ScrollPosition.keyset(), Limit.of(100)).getContent();
         assertThat(eligibilityResults).hasSize(1);
         assertThat(eligibilityResults.get(0).getResult()).isEqualTo(expected);
     }
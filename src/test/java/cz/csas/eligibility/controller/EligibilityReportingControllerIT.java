@@ -0,0 +1,162 @@
+package cz.csas.eligibility.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.entity.Eligibility;
+import cz.csas.eligibility.model.GetEligibilityResponse;
+import cz.csas.eligibility.repository.EligibilityRepository;
+import cz.csas.eligibility.service.EligibilityReportingService;
+import cz.csas.eligibility.service.EligibilityStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class EligibilityReportingControllerIT {
+
+    private static final String URL = "/api/v1/reporting/eligibility";
+    private static final String CLIENT_ID = "1234-56-78-90.12.34.567890";
+    private static final String OTHER_CLIENT_ID = "1111-11-11-11.11.11.111111";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 1, 12, 0);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EligibilityRepository eligibilityRepository;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EligibilityStatsService eligibilityStatsService;
+    @Autowired private EligibilityReportingService eligibilityReportingService;
+
+    @BeforeEach
+    void init() {
+        eligibilityRepository.deleteAll();
+        save(CLIENT_ID, "corr-1", Eligibility.EligibilityResultEnum.ERROR, NOW.minusHours(3));
+        save(CLIENT_ID, "corr-2", Eligibility.EligibilityResultEnum.NOT_ELIGIBLE, NOW.minusHours(2));
+        save(CLIENT_ID, "corr-3", Eligibility.EligibilityResultEnum.ELIGIBLE, NOW.minusHours(1));
+        save(OTHER_CLIENT_ID, "corr-4", Eligibility.EligibilityResultEnum.ELIGIBLE, NOW);
+    }
+
+    @Test
+    void historyIsPagedNewestFirst() throws Exception {
+        String firstPage = mockMvc.perform(get(URL + "/history")
+                        .header("clientId", CLIENT_ID)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].correlationId").value("corr-3"))
+                .andExpect(jsonPath("$.items[1].correlationId").value("corr-2"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get(URL + "/history")
+                        .header("clientId", CLIENT_ID)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].correlationId").value("corr-1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void recentlyActiveClientsAreDistinctAndNewestFirst() {
+        assertThat(eligibilityReportingService.getRecentlyActiveClientIds(NOW.minusDays(1), 10))
+                .containsExactly(OTHER_CLIENT_ID, CLIENT_ID);
+        assertThat(eligibilityReportingService.getRecentlyActiveClientIds(NOW.minusDays(1), 1))
+                .containsExactly(OTHER_CLIENT_ID);
+        assertThat(eligibilityReportingService.getRecentlyActiveClientIds(NOW.minusMinutes(30), 10))
+                .containsExactly(OTHER_CLIENT_ID);
+    }
+
+    @Test
+    void historyByResultAndCorrelationId() throws Exception {
+        String body = mockMvc.perform(get(URL + "/by-result/ELIGIBLE"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode items = objectMapper.readTree(body).get("items");
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).get("clientId").asText()).isEqualTo(OTHER_CLIENT_ID);
+        assertThat(items.get(1).get("clientId").asText()).isEqualTo(CLIENT_ID);
+
+        mockMvc.perform(get(URL + "/by-correlation-id").header("correlation-id", "corr-2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].result").value("NOT_ELIGIBLE"));
+    }
+
+    @Test
+    void latestResultOfClient() throws Exception {
+        mockMvc.perform(get(URL + "/latest").header("clientId", CLIENT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("ELIGIBLE"))
+                .andExpect(jsonPath("$.correlationId").value("corr-3"));
+
+        mockMvc.perform(get(URL + "/latest").header("clientId", "9999-99-99-99.99.99.999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void statsMergePersistedAndLiveCounters() throws Exception {
+        LocalDateTime hour = NOW.minusDays(1);
+        eligibilityStatsService.recordOutcome(Eligibility.EligibilityResultEnum.ELIGIBLE, List.of(), hour);
+        eligibilityStatsService.recordOutcome(Eligibility.EligibilityResultEnum.NOT_ELIGIBLE,
+                List.of(GetEligibilityResponse.ReasonsEnum.NO_ADULT, GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT), hour.plusMinutes(5));
+        eligibilityStatsService.flush();
+        eligibilityStatsService.recordOutcome(Eligibility.EligibilityResultEnum.NOT_ELIGIBLE,
+                List.of(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT), hour.plusMinutes(10));
+        eligibilityStatsService.recordOutcome(Eligibility.EligibilityResultEnum.ERROR, List.of(), hour.plusHours(1));
+        eligibilityStatsService.recordOutcome(Eligibility.EligibilityResultEnum.ERROR, List.of(), hour.plusHours(3));
+
+        mockMvc.perform(get(URL + "/stats")
+                        .param("from", hour.plusMinutes(30).toString())
+                        .param("to", hour.plusHours(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2025-04-30T12:00:00"))
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.byResult.ELIGIBLE").value(1))
+                .andExpect(jsonPath("$.byResult.NOT_ELIGIBLE").value(2))
+                .andExpect(jsonPath("$.byResult.ERROR").value(1))
+                .andExpect(jsonPath("$.byReason.NO_ACCOUNT").value(2))
+                .andExpect(jsonPath("$.byReason.NO_ADULT").value(1));
+
+        eligibilityStatsService.flush();
+
+        mockMvc.perform(get(URL + "/stats")
+                        .param("from", hour.toString())
+                        .param("to", hour.plusHours(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.byReason.NO_ACCOUNT").value(2));
+    }
+
+    @Test
+    void invalidCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get(URL + "/history")
+                        .header("clientId", CLIENT_ID)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorStatusValue").value(400));
+    }
+
+    private void save(String clientId, String correlationId, Eligibility.EligibilityResultEnum result, LocalDateTime checkedAt) {
+        eligibilityRepository.save(Eligibility.builder()
+                .clientId(clientId)
+                .correlationId(correlationId)
+                .result(result)
+                .checkedAt(checkedAt)
+                .build());
+    }
+}
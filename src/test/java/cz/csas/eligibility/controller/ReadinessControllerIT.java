@@ -0,0 +1,27 @@
+package cz.csas.eligibility.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadinessControllerIT {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    void readyAfterStartup() throws Exception {
+        mockMvc.perform(get("/api/v1/ops/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.readiness").value("ACCEPTING_TRAFFIC"))
+                .andExpect(jsonPath("$.eligibilityWarmup.state").value("DISABLED"))
+                .andExpect(jsonPath("$.cacheWarmup.state").value("DISABLED"));
+    }
+}
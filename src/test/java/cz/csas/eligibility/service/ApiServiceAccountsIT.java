@@ -3,7 +3,6 @@ package cz.csas.eligibility.service;
 import cz.csas.eligibility.config.ExternalApiServiceTestConfig;
 import cz.csas.eligibility.entity.AuditLog;
 import cz.csas.eligibility.exceptions.ExternalApiException;
-import cz.csas.eligibility.model.Account;
 import cz.csas.eligibility.repository.AuditLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,11 +16,15 @@ import org.springframework.http.MediaType;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.springframework.test.web.client.ExpectedCount.once;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.hamcrest.Matchers.containsString;
@@ -58,7 +61,7 @@ class ApiServiceAccountsIT {
     }
 
     @Test
-    void whenAccountsApiReturns200_thenAccountsReturnedAndAuditLogged() throws Exception {
+    void whenAccountsApiReturns200_thenOpenAccountFoundAndAuditLogged() {
         String json = """
             {
               "client": {
@@ -84,12 +87,7 @@ class ApiServiceAccountsIT {
                 .andExpect(header("api-key", API_KEY_HEADER))
                 .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).headers(headers));
 
-        try {
-            List<Account> accounts = accountsService.getClientAccounts(CLIENT_ID, CORRELATION_ID);
-        } catch (Exception e) {
-            //note `getClientAccounts` from some reason always returns null (probably some problem with openapi deserialization of the response which i could not figure out - so it is some problem with swagger API or test json).
-            // But main task here is to check audit logs not the response so it does not matter in this test.
-        }
+        assertThat(accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).isTrue();
 
         // Audit log
         List<AuditLog> logs = auditLogRepository.findAll();
@@ -108,6 +106,28 @@ class ApiServiceAccountsIT {
     }
 
 
+    @Test
+    void whenAccountsApiReturnsGzip_thenResponseDecompressedAndBothSizesAuditLogged() throws Exception {
+        String json = "{\"client\": {\"clientId\": \"" + CLIENT_ID + "\"}, \"accounts\": []}";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andRespond(withSuccess(compressed.toByteArray(), MediaType.APPLICATION_JSON).headers(headers));
+
+        assertThat(accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).isFalse();
+
+        AuditLog log = auditLogRepository.findAll().get(0);
+        assertThat(log.getResponseBody()).isEqualTo(json);
+        assertThat(log.getResponseSizeBytes()).isEqualTo(json.length());
+        assertThat(log.getResponseCompressedSizeBytes()).isEqualTo(compressed.size());
+    }
+
     @Test
     void whenAccountsApiReturns400_thenExternalApiExceptionAndAuditLoggedFailure() {
         // Given
@@ -115,7 +135,7 @@ class ApiServiceAccountsIT {
                 .andRespond(withBadRequest());
 
         // When / Then
-        assertThatThrownBy(() -> accountsService.getClientAccounts(CLIENT_ID, CORRELATION_ID))
+        assertThatThrownBy(() -> accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID))
                 .isInstanceOf(ExternalApiException.class);
 
         // Audit log
@@ -125,7 +145,7 @@ class ApiServiceAccountsIT {
         assertThat(log.getSuccess()).isFalse();
         assertThat(log.getApiName()).isEqualTo("AccountsServer");
         assertThat(log.getResponseStatus()).isEqualTo(400);
-        assertThat(log.getResponseHeaders().contains("[]")).isTrue();
+        assertThat(log.getResponseHeaders()).isEqualTo("{}");
         assertThat(log.getRequestHeaders().contains(CLIENT_ID) && log.getRequestHeaders().contains(CORRELATION_ID)).isTrue();
         assertThat(log.getRequestBody().contains(CLIENT_ID)).isTrue();
         assertThat(log.getResponseBody()).isEmpty();
@@ -141,7 +161,7 @@ class ApiServiceAccountsIT {
                 .andRespond(request -> { throw new RestClientException("IO error"); });
 
         // When / Then
-        assertThatThrownBy(() -> accountsService.getClientAccounts(CLIENT_ID, CORRELATION_ID))
+        assertThatThrownBy(() -> accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID))
                 .isInstanceOf(ExternalApiException.class);
 
         // Audit log
@@ -160,4 +180,94 @@ class ApiServiceAccountsIT {
         assertThat(log.getErrorMessage()).isNotEmpty();
         assertThat(log.getExceptionName()).isNotEmpty();
     }
+
+    @Test
+    void whenAccountsContainOpenAccountAfterClosedOne_thenHasOpenAccountAndWholeResponseAudited() {
+        String json = """
+            {
+              "client": {"forename": "John", "surname": "Doe", "clientId": "1234-56-78-90.12.34.567890"},
+              "accounts": [
+                {"iban": "CZ3908000000000735147003", "currency": "CZK", "product_id": "SB0_22291", "closing_date": "2020-01-31T00:00:00Z"},
+                {"prefix": "19", "number": "123456789", "bank_code": "0800", "product_id": "SB0_22291", "closing_date": null},
+                {"iban": "CZ6508000000192000145399", "currency": "USD", "product_id": "SB0_22291"}
+              ]
+            }
+        """;
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andExpect(header("api-key", API_KEY_HEADER))
+                .andExpect(header("clientId", CLIENT_ID))
+                .andExpect(header("Accept", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(content().json("{\"clientId\":\"" + CLIENT_ID + "\"}"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+        assertThat(accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).isTrue();
+
+        // scan stops at the second account, the rest of the body is still captured for the audit log
+        List<AuditLog> logs = auditLogRepository.findAll();
+        assertThat(logs).hasSize(1);
+        assertThat(logs.get(0).getSuccess()).isTrue();
+        assertThat(logs.get(0).getResponseBody()).isEqualTo(json);
+    }
+
+    @Test
+    void whenAllAccountsClosed_thenNoOpenAccount() {
+        String json = """
+            {
+              "accounts": [
+                {"iban": "CZ3908000000000735147003", "closing_date": "2020-01-31T00:00:00Z"},
+                {"number": "123456789", "bank_code": "0800", "closing_date": "2021-06-30"}
+              ],
+              "client": {"forename": "John", "surname": "Doe"}
+            }
+        """;
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+        assertThat(accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).isFalse();
+    }
+
+    @Test
+    void whenAccountsMissing_thenNoOpenAccount() {
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andRespond(withSuccess("{\"client\": {\"accounts\": [{}]}}", MediaType.APPLICATION_JSON));
+
+        assertThat(accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).isFalse();
+    }
+
+    @Test
+    void whenAccountsNull_thenNoOpenAccount() {
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andRespond(withSuccess("{\"accounts\": null}", MediaType.APPLICATION_JSON));
+
+        assertThat(accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).isFalse();
+    }
+
+    @Test
+    void whenAccountsNotArray_thenExternalApiException() {
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andRespond(withSuccess("{\"accounts\": {\"iban\": \"CZ3908000000000735147003\"}}", MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("not an array");
+    }
+
+    @Test
+    void whenResponseNotJsonObject_thenExternalApiException() {
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("not a JSON object");
+    }
+
+    @Test
+    void whenAccountsApiReturns400_thenHasOpenAccountThrowsExternalApiException() {
+        mockServer.expect(once(), requestTo(containsString("/list")))
+                .andRespond(withBadRequest());
+
+        assertThatThrownBy(() -> accountsService.hasOpenAccount(CLIENT_ID, CORRELATION_ID))
+                .isInstanceOf(ExternalApiException.class);
+    }
 }
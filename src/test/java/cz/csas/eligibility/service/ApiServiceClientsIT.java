@@ -82,12 +82,10 @@ class ApiServiceClientsIT {
                 .andExpect(header("api-key", API_KEY_HEADER))
                 .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
 
-        try {
-            GetClientDetailResponse detail = clientsService.getClientDetail(CLIENT_ID, CORRELATION_ID);
-        } catch (Exception e) {
-            // note: `getClientDetail` from some reason always returns null (probably some problem with openapi deserialization of the response which i could not figure out - so it is some problem with swagger API or test json).
-            // But main task here is to check audit logs not the response so it does not matter in this test.
-        }
+        // response body is deserialized from the same stream the audit interceptor captures
+        GetClientDetailResponse detail = clientsService.getClientDetail(CLIENT_ID, CORRELATION_ID);
+        assertThat(detail.getForename()).isEqualTo("John");
+        assertThat(detail.getBirthDate()).isEqualTo("1990-01-01");
 
         // Audit log
         List<AuditLog> logs = auditLogRepository.findAll();
@@ -96,8 +94,9 @@ class ApiServiceClientsIT {
         assertThat(log.getApiName()).isEqualTo("ClientsServer");
         assertThat(log.getSuccess()).isTrue();
         assertThat(log.getResponseStatus()).isEqualTo(200);
-        assertThat(log.getResponseHeaders()).isNotEmpty();
-        assertThat(log.getRequestHeaders().contains(CORRELATION_ID)).isTrue();
+        assertThat(log.getResponseHeaders()).isEqualTo("{\"content-type\":\"application/json\"}");
+        assertThat(log.getRequestHeaders().contains("\"correlation-id\":\"" + CORRELATION_ID + "\"")).isTrue();
+        assertThat(log.getRequestHeaders().contains("\"api-key\":\"clie" + "***\"")).isTrue();
         assertThat(log.getRequestBody()).isNull();
         assertThat(log.getResponseBody().contains(json)).isTrue();
         assertThat(log.getUserId().equals("SYSTEM")).isTrue();
@@ -120,7 +119,7 @@ class ApiServiceClientsIT {
         assertThat(log.getSuccess()).isFalse();
         assertThat(log.getApiName()).isEqualTo("ClientsServer");
         assertThat(log.getResponseStatus()).isEqualTo(400);
-        assertThat(log.getResponseHeaders().contains("[]")).isTrue();
+        assertThat(log.getResponseHeaders()).isEqualTo("{}");
         assertThat(log.getRequestHeaders().contains(CORRELATION_ID)).isTrue();
         assertThat(log.getRequestBody()).isNull();
         assertThat(log.getResponseBody()).isEmpty();
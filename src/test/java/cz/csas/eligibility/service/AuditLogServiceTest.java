@@ -0,0 +1,86 @@
+package cz.csas.eligibility.service;
+
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.service.impl.AuditLogServiceImpl;
+import cz.csas.eligibility.service.impl.JpaAuditLogWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuditLogServiceTest {
+
+    @Mock
+    private AuditLogWriter copyWriter;
+
+    @Mock
+    private JpaAuditLogWriter jpaWriter;
+
+    @Mock
+    private AuditRollupService auditRollupService;
+
+    private AuditLogServiceImpl auditLogService;
+
+    @BeforeEach
+    void setUp() {
+        when(copyWriter.getName()).thenReturn("copy");
+        when(copyWriter.isSupported()).thenReturn(true);
+        auditLogService = new AuditLogServiceImpl(List.of(copyWriter, jpaWriter), jpaWriter, auditRollupService,
+                "copy", true, 2, 100);
+    }
+
+    @Test
+    void queuedAuditLogsAreWrittenInBatches() {
+        AuditLog first = auditLog("r1");
+        AuditLog second = auditLog("r2");
+        AuditLog third = auditLog("r3");
+        List.of(first, second, third).forEach(auditLogService::saveAuditLog);
+        verifyNoInteractions(auditRollupService);
+        // the batch list is reused by the service - its content is copied when written
+        List<List<AuditLog>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.getArgument(0)))).when(copyWriter).write(anyList());
+
+        auditLogService.flushPendingAuditLogs();
+
+        assertThat(batches).containsExactly(List.of(first, second), List.of(third));
+        verify(auditRollupService, times(2)).record(anyList());
+        verify(jpaWriter, never()).write(anyList());
+    }
+
+    @Test
+    void failedBatchIsWrittenOneByOne() {
+        AuditLog good = auditLog("good");
+        AuditLog bad = auditLog("bad");
+        bad.setId(42L);
+        auditLogService.saveAuditLog(good);
+        auditLogService.saveAuditLog(bad);
+        doThrow(new IllegalStateException("copy failed")).when(copyWriter).write(anyList());
+        doThrow(new IllegalStateException("bad row")).when(jpaWriter).write(List.of(bad));
+
+        auditLogService.flushPendingAuditLogs();
+
+        verify(jpaWriter).write(List.of(good));
+        verify(jpaWriter).write(List.of(bad));
+        // only the saved record is counted in the rollups
+        verify(auditRollupService).record(List.of(good));
+        verify(auditRollupService, never()).record(List.of(bad));
+        // id assigned by the rolled back insert is not reused
+        assertThat(bad.getId()).isNull();
+    }
+
+    private static AuditLog auditLog(String requestId) {
+        return AuditLog.builder().requestId(requestId).apiName("ApplicationServer").build();
+    }
+}
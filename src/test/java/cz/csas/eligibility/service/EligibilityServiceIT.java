@@ -3,10 +3,8 @@ package cz.csas.eligibility.service;
 import cz.csas.eligibility.entity.Eligibility;
 import cz.csas.eligibility.exceptions.EligibilityApiException;
 import cz.csas.eligibility.exceptions.ExternalApiException;
-import cz.csas.eligibility.model.Account;
 import cz.csas.eligibility.model.GetClientDetailResponse;
 import cz.csas.eligibility.model.GetEligibilityResponse;
-import cz.csas.eligibility.model.NationalAccount;
 import cz.csas.eligibility.repository.EligibilityRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,12 +15,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,7 +54,6 @@ class EligibilityServiceIT {
 
     private GetClientDetailResponse adultClientDetail;
     private GetClientDetailResponse minorClientDetail;
-    private List<Account> accountsWithData;
 
     @BeforeEach
     void setUp() {
@@ -78,13 +75,6 @@ class EligibilityServiceIT {
         minorClientDetail.setSurname("Doe");
         minorClientDetail.setGender(GetClientDetailResponse.GenderEnum.F);
         minorClientDetail.setPep(false);
-
-        // Setup accounts list
-        NationalAccount account = new NationalAccount();
-        account.setNumber("123456789");
-        account.setBankCode("0800");
-        account.setProductId("SB022291");
-        accountsWithData = Arrays.asList(account);
     }
 
     @AfterEach
@@ -95,7 +85,7 @@ class EligibilityServiceIT {
     @Test
     void evaluateEligibility_WhenClientHasAccountsAndIsAdult_ShouldSaveEligibleToDatabase() throws ExternalApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
@@ -107,7 +97,7 @@ class EligibilityServiceIT {
         assertThat(response.getReasons()).isNullOrEmpty();
 
         // Verify database state
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(1);
 
         Eligibility savedEligibility = savedEligibilities.get(0);
@@ -121,7 +111,7 @@ class EligibilityServiceIT {
     @Test
     void evaluateEligibility_WhenClientHasNoAccountsAndIsAdult_ShouldSaveNotEligibleToDatabase() throws ExternalApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
@@ -134,7 +124,7 @@ class EligibilityServiceIT {
         assertThat(response.getReasons()).contains(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT);
 
         // Verify database state
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(1);
 
         Eligibility savedEligibility = savedEligibilities.get(0);
@@ -147,7 +137,7 @@ class EligibilityServiceIT {
     @Test
     void evaluateEligibility_WhenClientHasNoAccountsAndIsMinor_ShouldSaveNotEligibleWithBothReasonsToDatabase() throws ExternalApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(minorClientDetail);
 
         // When
@@ -163,7 +153,7 @@ class EligibilityServiceIT {
         );
 
         // Verify database state
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(1);
 
         Eligibility savedEligibility = savedEligibilities.get(0);
@@ -173,7 +163,7 @@ class EligibilityServiceIT {
     @Test
     void evaluateEligibility_WhenClientHasAccountsButIsMinor_ShouldSaveNotEligibleToDatabase() throws ExternalApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(minorClientDetail);
 
         // When
@@ -186,7 +176,7 @@ class EligibilityServiceIT {
         assertThat(response.getReasons()).contains(GetEligibilityResponse.ReasonsEnum.NO_ADULT);
 
         // Verify database state
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(1);
 
         Eligibility savedEligibility = savedEligibilities.get(0);
@@ -198,7 +188,7 @@ class EligibilityServiceIT {
         // Given
         ExternalApiException externalException = new ExternalApiException("External service unavailable",
                 new RuntimeException("Connection timeout"));
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenThrow(externalException);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenThrow(externalException);
 
         // When & Then
         assertThatThrownBy(() -> eligibilityService.evaluateEligibility(CLIENT_ID, CORRELATION_ID))
@@ -207,7 +197,7 @@ class EligibilityServiceIT {
                 .hasCause(externalException);
 
         // Verify database state - ERROR should be saved even when exception is thrown
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(1);
 
         Eligibility savedEligibility = savedEligibilities.get(0);
@@ -220,7 +210,7 @@ class EligibilityServiceIT {
     @Test
     void evaluateEligibility_WhenMultipleCallsForSameClient_ShouldSaveMultipleRecords() throws ExternalApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When - call the service twice
@@ -228,7 +218,7 @@ class EligibilityServiceIT {
         eligibilityService.evaluateEligibility(CLIENT_ID, CORRELATION_ID);
 
         // Then - should have 2 records in database
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(2);
 
         for (Eligibility eligibility : savedEligibilities) {
@@ -246,10 +236,10 @@ class EligibilityServiceIT {
         String correlation1 = "corr-1";
         String correlation2 = "corr-2";
 
-        when(apiServiceAccounts.getClientAccounts(client1Id, correlation1)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(client1Id, correlation1)).thenReturn(true);
         when(apiServiceClients.getClientDetail(client1Id, correlation1)).thenReturn(adultClientDetail);
 
-        when(apiServiceAccounts.getClientAccounts(client2Id, correlation2)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(client2Id, correlation2)).thenReturn(false);
         when(apiServiceClients.getClientDetail(client2Id, correlation2)).thenReturn(minorClientDetail);
 
         // When
@@ -257,8 +247,8 @@ class EligibilityServiceIT {
         eligibilityService.evaluateEligibility(client2Id, correlation2);
 
         // Then
-        List<Eligibility> client1Records = eligibilityRepository.findByClientId(client1Id);
-        List<Eligibility> client2Records = eligibilityRepository.findByClientId(client2Id);
+        List<Eligibility> client1Records = findByClientId(client1Id);
+        List<Eligibility> client2Records = findByClientId(client2Id);
 
         assertThat(client1Records).hasSize(1);
         assertThat(client2Records).hasSize(1);
@@ -279,7 +269,7 @@ class EligibilityServiceIT {
         eighteenYearOldClient.setPep(false);
 
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(eighteenYearOldClient);
 
         // When
@@ -289,7 +279,7 @@ class EligibilityServiceIT {
         assertThat(response.getEligible()).isTrue();
 
         // Verify in database
-        List<Eligibility> savedEligibilities = eligibilityRepository.findByClientId(CLIENT_ID);
+        List<Eligibility> savedEligibilities = findByClientId(CLIENT_ID);
         assertThat(savedEligibilities).hasSize(1);
         assertThat(savedEligibilities.get(0).getResult()).isEqualTo(Eligibility.EligibilityResultEnum.ELIGIBLE);
     }
@@ -297,14 +287,14 @@ class EligibilityServiceIT {
     @Test
     void evaluateEligibility_RepositoryFindByCorrelationId_ShouldWork() throws ExternalApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
         eligibilityService.evaluateEligibility(CLIENT_ID, CORRELATION_ID);
 
         // Then - verify we can find by correlation ID
-        List<Eligibility> eligibilitiesByCorrelation = eligibilityRepository.findByCorrelationId(CORRELATION_ID);
+        List<Eligibility> eligibilitiesByCorrelation = findByCorrelationId(CORRELATION_ID);
         assertThat(eligibilitiesByCorrelation).hasSize(1);
         assertThat(eligibilitiesByCorrelation.get(0).getClientId()).isEqualTo(CLIENT_ID);
         assertThat(eligibilitiesByCorrelation.get(0).getResult()).isEqualTo(Eligibility.EligibilityResultEnum.ELIGIBLE);
@@ -316,10 +306,10 @@ class EligibilityServiceIT {
         String eligibleClientId = "eligible-client-id";
         String notEligibleClientId = "not-eligible-client-id";
 
-        when(apiServiceAccounts.getClientAccounts(eligibleClientId, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(eligibleClientId, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(eligibleClientId, CORRELATION_ID)).thenReturn(adultClientDetail);
 
-        when(apiServiceAccounts.getClientAccounts(notEligibleClientId, CORRELATION_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(notEligibleClientId, CORRELATION_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail(notEligibleClientId, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
@@ -327,8 +317,8 @@ class EligibilityServiceIT {
         eligibilityService.evaluateEligibility(notEligibleClientId, CORRELATION_ID);
 
         // Then - verify we can query by result
-        List<Eligibility> eligibleResults = eligibilityRepository.findAllByResult(Eligibility.EligibilityResultEnum.ELIGIBLE);
-        List<Eligibility> notEligibleResults = eligibilityRepository.findAllByResult(Eligibility.EligibilityResultEnum.NOT_ELIGIBLE);
+        List<Eligibility> eligibleResults = findAllByResult(Eligibility.EligibilityResultEnum.ELIGIBLE);
+        List<Eligibility> notEligibleResults = findAllByResult(Eligibility.EligibilityResultEnum.NOT_ELIGIBLE);
 
         assertThat(eligibleResults).hasSize(1);
         assertThat(notEligibleResults).hasSize(1);
@@ -337,6 +327,17 @@ class EligibilityServiceIT {
         assertThat(notEligibleResults.get(0).getClientId()).isEqualTo(notEligibleClientId);
     }
 
+    /* ---------------- helpers ---------------- */
+    private List<Eligibility> findByClientId(String clientId) {
+        return eligibilityRepository.findByClientIdOrderByCheckedAtDescIdDesc(clientId, ScrollPosition.keyset(), Limit.of(100)).getContent();
+    }
+    private List<Eligibility> findByCorrelationId(String correlationId) {
+        return eligibilityRepository.findByCorrelationIdOrderByCheckedAtDescIdDesc(correlationId, ScrollPosition.keyset(), Limit.of(100)).getContent();
+    }
+    private List<Eligibility> findAllByResult(Eligibility.EligibilityResultEnum result) {
+        return eligibilityRepository.findByResultOrderByCheckedAtDescIdDesc(result, ScrollPosition.keyset(), Limit.of(100)).getContent();
+    }
+
     //CONFIG - mocking external api services.
     // Note: @Primary solved the issue when these beans were influencing also other IT tests
     // (spring was detecting multiple beans for e.g. ApiServiceAccounts - one of which was from this class. @Primary solved it)
@@ -3,10 +3,8 @@ package cz.csas.eligibility.service;
 import cz.csas.eligibility.entity.Eligibility;
 import cz.csas.eligibility.exceptions.EligibilityApiException;
 import cz.csas.eligibility.exceptions.ExternalApiException;
-import cz.csas.eligibility.model.Account;
 import cz.csas.eligibility.model.GetClientDetailResponse;
 import cz.csas.eligibility.model.GetEligibilityResponse;
-import cz.csas.eligibility.model.NationalAccount;
 import cz.csas.eligibility.repository.EligibilityRepository;
 import cz.csas.eligibility.service.impl.EligibilityServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,8 +19,6 @@ import org.mockito.quality.Strictness;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,6 +38,9 @@ class EligibilityServiceTest {
     @Mock
     private EligibilityRepository eligibilityRepository;
 
+    @Mock
+    private EligibilityStatsService eligibilityStatsService;
+
     @InjectMocks
     private EligibilityServiceImpl eligibilityService;
 
@@ -52,7 +51,6 @@ class EligibilityServiceTest {
 
     private GetClientDetailResponse adultClientDetail;
     private GetClientDetailResponse minorClientDetail;
-    private List<Account> accountsWithData;
 
     @BeforeEach
     void setUp() {
@@ -72,13 +70,6 @@ class EligibilityServiceTest {
         minorClientDetail.setGender(GetClientDetailResponse.GenderEnum.F);
         minorClientDetail.setPep(false);
 
-        // Setup accounts list
-        NationalAccount account = new NationalAccount();
-        account.setNumber("123456789");
-        account.setBankCode("0800");
-        account.setProductId("SB022291");
-        accountsWithData = Arrays.asList(account);
-
         // Mock repository save method
         when(eligibilityRepository.save(any(Eligibility.class)))
                 .thenReturn(Eligibility.builder()
@@ -92,7 +83,7 @@ class EligibilityServiceTest {
     @Test
     void evaluateEligibility_WhenClientHasAccountsAndIsAdult_ShouldReturnEligible() throws EligibilityApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
@@ -116,7 +107,7 @@ class EligibilityServiceTest {
     @Test
     void evaluateEligibility_WhenClientHasNoAccountsAndIsAdult_ShouldReturnNotEligibleWithNoAccountReason() throws EligibilityApiException {
         // Given - empty accounts list
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
@@ -135,12 +126,16 @@ class EligibilityServiceTest {
 
         Eligibility savedEligibility = eligibilityCaptor.getValue();
         assertThat(savedEligibility.getResult()).isEqualTo(Eligibility.EligibilityResultEnum.NOT_ELIGIBLE);
+
+        // Verify that outcome was counted with its reason into the bucket of the saved result
+        verify(eligibilityStatsService).recordOutcome(Eligibility.EligibilityResultEnum.NOT_ELIGIBLE,
+                List.of(GetEligibilityResponse.ReasonsEnum.NO_ACCOUNT), savedEligibility.getCheckedAt());
     }
 
     @Test
     void evaluateEligibility_WhenClientHasNullAccountsAndIsAdult_ShouldReturnNotEligibleWithNoAccountReason() throws EligibilityApiException {
-        // Given - null accounts list (which will be converted to empty by ApiServiceAccounts implementation)
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(Collections.emptyList());
+        // Given - null accounts list (reported as no open account by ApiServiceAccounts implementation)
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // When
@@ -163,7 +158,7 @@ class EligibilityServiceTest {
     @Test
     void evaluateEligibility_WhenClientHasNoAccountsAndIsMinor_ShouldReturnNotEligibleWithBothReasons() throws EligibilityApiException {
         // Given - empty accounts list and minor client
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(Collections.emptyList());
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(false);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(minorClientDetail);
 
         // When
@@ -189,7 +184,7 @@ class EligibilityServiceTest {
     @Test
     void evaluateEligibility_WhenClientHasAccountsButIsMinor_ShouldReturnNotEligibleWithNoAdultReason() throws EligibilityApiException {
         // Given - client has accounts but is minor
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(minorClientDetail);
 
         // When
@@ -213,7 +208,7 @@ class EligibilityServiceTest {
     void evaluateEligibility_WhenAccountsServiceThrowsExternalApiException_ShouldThrowEligibilityApiException() throws EligibilityApiException {
         // Given
         ExternalApiException externalException = new ExternalApiException("Accounts service error", new RuntimeException("Connection failed"));
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenThrow(externalException);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenThrow(externalException);
 
         // When & Then
         assertThatThrownBy(() -> eligibilityService.evaluateEligibility(CLIENT_ID, CORRELATION_ID))
@@ -232,7 +227,7 @@ class EligibilityServiceTest {
     @Test
     void evaluateEligibility_WhenClientsServiceThrowsExternalApiException_ShouldThrowEligibilityApiException() throws EligibilityApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         ExternalApiException externalException = new ExternalApiException("Clients service error", new RuntimeException("Connection failed"));
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenThrow(externalException);
 
@@ -253,7 +248,7 @@ class EligibilityServiceTest {
     @Test
     void evaluateEligibility_WhenAnyOtherExceptionOccurs_ShouldThrowEligibilityApiException() throws EligibilityApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         RuntimeException runtimeException = new RuntimeException("Unexpected error");
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenThrow(runtimeException);
 
@@ -275,7 +270,7 @@ class EligibilityServiceTest {
     @MockitoSettings(strictness = Strictness.LENIENT)
     void evaluateEligibility_WhenRepositorySaveThrowsException_ShouldStillThrowEligibilityApiException() throws EligibilityApiException {
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(adultClientDetail);
 
         // Firs calling of eligibilityRepository.save() in try block will throw RuntimeException to simulate any exception thrown from try block.
@@ -305,7 +300,7 @@ class EligibilityServiceTest {
         eighteenYearOldClient.setPep(false);
 
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(eighteenYearOldClient);
 
         // When
@@ -329,7 +324,7 @@ class EligibilityServiceTest {
         almostEighteenClient.setPep(false);
 
         // Given
-        when(apiServiceAccounts.getClientAccounts(CLIENT_ID, CORRELATION_ID)).thenReturn(accountsWithData);
+        when(apiServiceAccounts.hasOpenAccount(CLIENT_ID, CORRELATION_ID)).thenReturn(true);
         when(apiServiceClients.getClientDetail(CLIENT_ID, CORRELATION_ID)).thenReturn(almostEighteenClient);
 
         // When
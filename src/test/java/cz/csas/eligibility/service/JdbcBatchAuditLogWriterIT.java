@@ -0,0 +1,66 @@
+package cz.csas.eligibility.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.csas.eligibility.entity.AuditLog;
+import cz.csas.eligibility.repository.AuditLogRepository;
+import cz.csas.eligibility.service.impl.JdbcBatchAuditLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JdbcBatchAuditLogWriterIT {
+
+    @Autowired private JdbcBatchAuditLogWriter jdbcBatchAuditLogWriter;
+    @Autowired private AuditLogRepository auditLogRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE request_id = 'req-jdbc'");
+    }
+
+    @Test
+    void headersAreWrittenAsJsonObjects() throws Exception {
+        assertThat(jdbcBatchAuditLogWriter.isSupported()).isTrue();
+
+        jdbcBatchAuditLogWriter.write(List.of(AuditLog.builder()
+                .requestId("req-jdbc")
+                .apiName("ClientsServer")
+                .method("GET")
+                .url("http://localhost/clients/1")
+                .requestHeaders("{\"correlation-id\":\"req-jdbc\"}")
+                .responseStatus(200)
+                .responseHeaders("{\"content-type\":\"application/json\"}")
+                .executionTimeMs(10L)
+                .success(true)
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        JsonNode requestHeaders = readHeaders("request_headers");
+        JsonNode responseHeaders = readHeaders("response_headers");
+        assertThat(requestHeaders.isObject()).isTrue();
+        assertThat(requestHeaders.get("correlation-id").asText()).isEqualTo("req-jdbc");
+        assertThat(responseHeaders.isObject()).isTrue();
+        assertThat(responseHeaders.get("content-type").asText()).isEqualTo("application/json");
+        // read through the entity mapping as well
+        assertThat(auditLogRepository.findAll())
+                .filteredOn(a -> "req-jdbc".equals(a.getRequestId()))
+                .singleElement()
+                .satisfies(a -> assertThat(objectMapper.readTree(a.getRequestHeaders()).isObject()).isTrue());
+    }
+
+    private JsonNode readHeaders(String column) throws Exception {
+        return objectMapper.readTree(jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM audit_logs WHERE request_id = 'req-jdbc'", String.class));
+    }
+}
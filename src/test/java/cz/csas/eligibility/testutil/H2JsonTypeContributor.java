@@ -0,0 +1,52 @@
+package cz.csas.eligibility.testutil;
+
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2JsonJdbcType;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.sql.internal.DdlTypeImpl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Test only - tests run the production PostgreSQL dialect against H2, whose JSON columns (see db/vendor/h2 V008)
+ * accept neither PostgreSQL JSONB objects nor the jsonb type name. JSON attributes are therefore bound as H2 JSON
+ * and validated against the json type when the database is H2. Registered in META-INF/services.
+ */
+public class H2JsonTypeContributor implements TypeContributor {
+
+    @Override
+    public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        if (!isH2(serviceRegistry)) {
+            return;
+        }
+        Dialect dialect = serviceRegistry.requireService(JdbcServices.class).getDialect();
+        typeContributions.contributeJdbcType(H2JsonJdbcType.INSTANCE);
+        typeContributions.getTypeConfiguration().getDdlTypeRegistry()
+                .addDescriptor(new DdlTypeImpl(SqlTypes.JSON, "json", dialect));
+    }
+
+    private static boolean isH2(ServiceRegistry serviceRegistry) {
+        ConnectionProvider connectionProvider = serviceRegistry.requireService(ConnectionProvider.class);
+        Connection connection = null;
+        try {
+            connection = connectionProvider.getConnection();
+            return "H2".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not determine the test database", e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connectionProvider.closeConnection(connection);
+                } catch (SQLException ignored) {
+                    // connection is returned to the test pool
+                }
+            }
+        }
+    }
+}
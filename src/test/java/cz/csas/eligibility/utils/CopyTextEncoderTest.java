@@ -0,0 +1,75 @@
+package cz.csas.eligibility.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyTextEncoderTest {
+
+    private static String encoded(CopyTextEncoder encoder) {
+        return new String(encoder.buffer(), 0, encoder.size(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void encodesColumnsSeparatedByTabAndRowsByNewLine() {
+        CopyTextEncoder encoder = new CopyTextEncoder(16);
+
+        encoder.text("a").number(200).bool(true).endRow()
+                .text("b").number(-15L).bool(false).endRow();
+
+        assertThat(encoded(encoder)).isEqualTo("a\t200\tt\nb\t-15\tf\n");
+    }
+
+    @Test
+    void encodesNullsAsBackslashN() {
+        CopyTextEncoder encoder = new CopyTextEncoder(16);
+
+        encoder.text(null).number(null).bool(null).timestamp(null).endRow();
+
+        assertThat(encoded(encoder)).isEqualTo("\\N\t\\N\t\\N\t\\N\n");
+    }
+
+    @Test
+    void escapesSpecialCharacters() {
+        CopyTextEncoder encoder = new CopyTextEncoder(16);
+
+        encoder.text("x\\y\tz\r\nw").endRow();
+
+        assertThat(encoded(encoder)).isEqualTo("x\\\\y\\tz\\r\\nw\n");
+    }
+
+    @Test
+    void encodesNonAsciiAsUtf8() {
+        String value = "Příliš žluťoučký kůň 😀";
+        CopyTextEncoder encoder = new CopyTextEncoder(4);
+
+        encoder.text(value);
+
+        assertThat(encoded(encoder)).isEqualTo(value);
+    }
+
+    @Test
+    void encodesTimestampWithMicroseconds() {
+        CopyTextEncoder encoder = new CopyTextEncoder(16);
+
+        encoder.timestamp(LocalDateTime.of(2025, 3, 7, 9, 5, 1, 123456789));
+
+        assertThat(encoded(encoder)).isEqualTo("2025-03-07 09:05:01.123456");
+    }
+
+    @Test
+    void resetKeepsBufferForReuse() {
+        CopyTextEncoder encoder = new CopyTextEncoder(16);
+        encoder.text("first").endRow();
+        byte[] buffer = encoder.buffer();
+
+        encoder.reset();
+        encoder.text("second").endRow();
+
+        assertThat(encoder.buffer()).isSameAs(buffer);
+        assertThat(encoded(encoder)).isEqualTo("second\n");
+    }
+}
@@ -0,0 +1,77 @@
+package cz.csas.eligibility.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DateUtilsTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @AfterEach
+    void restoreZone() {
+        DateUtils.setAdulthoodZone(ZoneId.systemDefault());
+    }
+
+    @Test
+    void cutoffMatchesPeriodSemanticsIncludingFeb29() {
+        ZoneOffset zone = ZoneOffset.UTC;
+        DateUtils.setAdulthoodZone(zone);
+        // covers leap and non-leap "today" around Feb 29 as well as month ends
+        for (LocalDate today = LocalDate.of(2027, 12, 1); today.isBefore(LocalDate.of(2029, 4, 1)); today = today.plusDays(1)) {
+            long cutoff = DateUtils.adultCutoffEpochDay(today.atStartOfDay(zone).toInstant().toEpochMilli());
+            for (LocalDate birth = today.minusYears(18).minusDays(3); birth.isBefore(today.minusYears(18).plusDays(4)); birth = birth.plusDays(1)) {
+                boolean expected = Period.between(birth, today).getYears() >= 18;
+                assertThat(DateUtils.parseBirthDateToEpochDay(birth.format(FORMATTER)) <= cutoff)
+                        .as("born %s, today %s", birth, today)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void cutoffChangesAtMidnightOfConfiguredZone() {
+        ZoneId prague = ZoneId.of("Europe/Prague");
+        DateUtils.setAdulthoodZone(prague);
+        long midnight = LocalDate.of(2026, 3, 15).atStartOfDay(prague).toInstant().toEpochMilli();
+
+        assertThat(DateUtils.adultCutoffEpochDay(midnight - 1)).isEqualTo(LocalDate.of(2008, 3, 14).toEpochDay());
+        assertThat(DateUtils.adultCutoffEpochDay(midnight)).isEqualTo(LocalDate.of(2008, 3, 15).toEpochDay());
+        // clock moved back
+        assertThat(DateUtils.adultCutoffEpochDay(midnight - 1)).isEqualTo(LocalDate.of(2008, 3, 14).toEpochDay());
+    }
+
+    @Test
+    void parserMatchesFormatter() {
+        for (String date : new String[]{"1954-07-04", "2000-02-29", "2023-02-30", "2023-04-31", "1900-02-29", "0001-01-01", "9999-12-31"}) {
+            assertThat(DateUtils.parseBirthDateToEpochDay(date))
+                    .as(date)
+                    .isEqualTo(LocalDate.parse(date, FORMATTER).toEpochDay());
+        }
+    }
+
+    @Test
+    void invalidBirthDateIsRejected() {
+        for (String date : new String[]{"2023-13-01", "2023-02-32", "2023-00-10", "0000-01-01", "2023/01/01", "1.1.2000", "20x3-01-01"}) {
+            assertThatThrownBy(() -> DateUtils.parseBirthDateToEpochDay(date))
+                    .as(date)
+                    .isInstanceOf(DateTimeParseException.class);
+        }
+        assertThatThrownBy(() -> DateUtils.parseBirthDateToEpochDay(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void isAdultUsesCurrentDate() {
+        assertThat(DateUtils.isAdult(LocalDate.now().minusYears(18).format(FORMATTER))).isTrue();
+        assertThat(DateUtils.isAdult(LocalDate.now().minusYears(18).plusDays(1).format(FORMATTER))).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package cz.csas.eligibility.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencySketchTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencySketch sketch = new LatencySketch();
+        LongStream.rangeClosed(1, 10).forEach(sketch::record);
+
+        assertThat(sketch.count()).isEqualTo(10);
+        assertThat(sketch.quantile(0.5)).isEqualTo(5);
+        assertThat(sketch.quantile(1.0)).isEqualTo(10);
+        assertThat(new LatencySketch().quantile(0.5)).isNull();
+    }
+
+    @Test
+    void largeValuesHaveBoundedRelativeError() {
+        for (long value : new long[]{16, 17, 100, 1234, 65_537, 10_000_000, Long.MAX_VALUE / 3}) {
+            long estimate = LatencySketch.bucketMidpoint(LatencySketch.bucketIndex(value));
+            assertThat((double) estimate).isCloseTo(value, within(value / 16.0));
+        }
+        assertThat(LatencySketch.bucketIndex(Long.MAX_VALUE)).isLessThan(16 + 59 * 16);
+    }
+
+    @Test
+    void mergedSketchEqualsSketchOfAllValues() {
+        Random random = new Random(42);
+        LatencySketch first = new LatencySketch();
+        LatencySketch second = new LatencySketch();
+        LatencySketch all = new LatencySketch();
+        for (int i = 0; i < 10_000; i++) {
+            long value = (long) Math.abs(random.nextGaussian() * 200);
+            (i % 2 == 0 ? first : second).record(value);
+            all.record(value);
+        }
+
+        assertThat(first.merge(second)).isEqualTo(all);
+        assertThat(all.quantile(0.99)).isGreaterThan(all.quantile(0.5));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        LatencySketch sketch = new LatencySketch().record(0).record(3).record(3).record(250).record(90_000);
+
+        byte[] bytes = sketch.toBytes();
+
+        assertThat(LatencySketch.fromBytes(bytes)).isEqualTo(sketch);
+        assertThat(LatencySketch.fromBytes(null).count()).isZero();
+        assertThat(bytes.length).isLessThan(16);
+    }
+
+    @Test
+    void rejectsMalformedBytes() {
+        assertThatThrownBy(() -> LatencySketch.fromBytes(new byte[]{9}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencySketch.fromBytes(new byte[]{1, (byte) 0x80}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}